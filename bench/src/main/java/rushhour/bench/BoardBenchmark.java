@@ -0,0 +1,58 @@
+package rushhour.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Operasi dasar papan: pembangkitan gerakan, penerapan gerakan, dan hash state.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+    @Param({"test/tc1.txt", "bench/puzzles/hard1.txt"})
+    public String puzzle;
+
+    private Object board;
+    private Object move;
+    private Object state;
+
+    @Setup
+    public void setup() throws Throwable {
+        board = Targets.readPuzzle(puzzle);
+        List<?> moves = (List<?>) Targets.POSSIBLE_MOVES.invokeExact(board);
+        move = moves.get(0);
+        Object compact = (Object) Targets.COMPACT_OF.invokeExact(board);
+        state = (Object) Targets.NEW_STATE.invokeExact(compact, (Object) null, 0, 0, 0);
+    }
+
+    @Benchmark
+    public List<?> getPossibleMoves() throws Throwable {
+        return (List<?>) Targets.POSSIBLE_MOVES.invokeExact(board);
+    }
+
+    @Benchmark
+    public Object applyMove() throws Throwable {
+        return (Object) Targets.APPLY_MOVE.invokeExact(board, move);
+    }
+
+    @Benchmark
+    public long stateHash() throws Throwable {
+        return (long) Targets.STATE_HASH.invokeExact(state);
+    }
+}
@@ -0,0 +1,53 @@
+package rushhour.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Heuristic.estimate untuk setiap mode, versi Board (dipakai Main/GUI) dan
+ * versi CompactBoard (dipakai loop pencarian).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeuristicBenchmark {
+    @Param({"test/tc1.txt", "bench/puzzles/hard1.txt"})
+    public String puzzle;
+
+    // 1 Manhattan, 2 Euclidean, 3 Chebyshev, 4 Blocking, 5 Blockers of Blockers
+    @Param({"1", "2", "3", "4", "5"})
+    public String mode;
+
+    private Object board;
+    private Object compact;
+
+    @Setup
+    public void setup() throws Throwable {
+        board = Targets.readPuzzle(puzzle);
+        compact = (Object) Targets.COMPACT_OF.invokeExact(board);
+    }
+
+    @Benchmark
+    public int estimateBoard() throws Throwable {
+        return (int) Targets.ESTIMATE_BOARD.invokeExact(board, mode);
+    }
+
+    @Benchmark
+    public int estimateCompact() throws Throwable {
+        return (int) Targets.ESTIMATE_COMPACT.invokeExact(compact, mode);
+    }
+}
@@ -0,0 +1,70 @@
+package rushhour.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * SMA* dengan batas node jauh di bawah jumlah node yang disimpan A*, jadi
+ * pruning dan pembangkitan ulang cabang ikut diukur. Setup gagal jika SMA*
+ * tidak menemukan solusi dengan biaya yang sama dengan A* (misalnya hard3
+ * dengan 1000 node harus selesai dengan biaya 22), sehingga benchmark ini
+ * juga menjadi pemeriksaan yang bisa diulang untuk mode memori terbatas.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MemoryBoundedBenchmark {
+    private static final long CHECK_TIMEOUT_MS = 30_000;
+
+    @Param({"bench/puzzles/hard1.txt", "bench/puzzles/hard3.txt", "bench/puzzles/hard4.txt"})
+    public String puzzle;
+
+    @Param({"600", "1000"})
+    public int maxNodes;
+
+    @Param({"4"})
+    public String heuristic;
+
+    private Object board;
+
+    @Setup
+    public void setup() throws Throwable {
+        board = Targets.readPuzzle(puzzle);
+        Object reference = (Object) Targets.CREATE_SOLVER.invokeExact("a*", board, heuristic);
+        Targets.SOLVE.invokeExact(reference);
+        int expected = Targets.cost((List<?>) Targets.SOLUTION_PATH.invokeExact(reference));
+
+        // Dengan batas waktu, jadi regresi (pruning yang berputar-putar) gagal alih-alih menggantung
+        Object solver = (Object) Targets.NEW_SMA_STAR.invokeExact(board, heuristic, maxNodes);
+        Object result = (Object) Targets.SOLVE_BUDGETED.invokeExact(solver, Targets.timeLimit(CHECK_TIMEOUT_MS),
+                Targets.NO_CANCELLATION);
+        List<?> path = (List<?>) Targets.SOLUTION_PATH.invokeExact(solver);
+        if (path == null || Targets.cost(path) != expected) {
+            throw new IllegalStateException("SMA* dengan " + maxNodes + " node pada " + puzzle + " memberi biaya "
+                    + (path == null ? "-" : String.valueOf(Targets.cost(path))) + ", seharusnya " + expected
+                    + " (" + result + ")");
+        }
+    }
+
+    @Benchmark
+    public List<?> solve() throws Throwable {
+        Object solver = (Object) Targets.NEW_SMA_STAR.invokeExact(board, heuristic, maxNodes);
+        Targets.SOLVE.invokeExact(solver);
+        return (List<?>) Targets.SOLUTION_PATH.invokeExact(solver);
+    }
+}
@@ -0,0 +1,26 @@
+package rushhour.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Main untuk benchmarks.jar: sama dengan org.openjdk.jmh.Main (semua opsi
+ * command line JMH berlaku), tetapi profiler GC selalu aktif sehingga laju
+ * alokasi (gc.alloc.rate.norm, byte per operasi) ikut dilaporkan.
+ */
+public final class RunBenchmarks {
+    private RunBenchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+                .parent(cli)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,57 @@
+package rushhour.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Solve end-to-end, termasuk pembuatan solver, untuk test case dan
+ * puzzle 6x6 sulit di bench/puzzles, masing-masing state terjauh di ruang
+ * state-nya yang dicari dengan StateSpace (hard1: 51 langkah; hard2: 43
+ * langkah, dari papan acak dengan komponen 10079 state; hard3/hard4: dari
+ * komponen tc1 dan tc10).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolverBenchmark {
+    @Param({"ucs", "gbfs", "a*", "ida*"})
+    public String algo;
+
+    // Hanya test case yang valid dan bisa diselesaikan: tc2, tc3, tc5-tc8 sengaja
+    // berisi input salah, dan tc9 tidak punya solusi (IDA* tidak pernah berhenti)
+    @Param({"test/tc1.txt", "test/tc4.txt", "test/tc10.txt", "bench/puzzles/hard1.txt", "bench/puzzles/hard2.txt",
+            "bench/puzzles/hard3.txt", "bench/puzzles/hard4.txt"})
+    public String puzzle;
+
+    @Param({"4"})
+    public String heuristic;
+
+    private Object board;
+
+    @Setup
+    public void setup() {
+        board = Targets.readPuzzle(puzzle);
+    }
+
+    @Benchmark
+    public List<?> solve() throws Throwable {
+        Object solver = (Object) Targets.CREATE_SOLVER.invokeExact(algo, board, heuristic);
+        Targets.SOLVE.invokeExact(solver);
+        return (List<?>) Targets.SOLUTION_PATH.invokeExact(solver);
+    }
+}
@@ -0,0 +1,146 @@
+package rushhour.bench;
+
+import java.io.File;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Jembatan ke kelas solver. JMH menolak kelas benchmark di default package,
+ * sedangkan kelas solver ada di sana dan tidak bisa di-import dari package
+ * bernama, jadi semua pemanggilan lewat MethodHandle. Handle disimpan di field
+ * static final dengan tipe Object, sehingga invokeExact dianggap konstanta
+ * oleh JIT dan di-inline seperti pemanggilan biasa.
+ */
+final class Targets {
+    /** PuzzleFile.read(File) : Board */
+    static final MethodHandle READ_PUZZLE;
+    /** Board.getPossibleMoves() : List&lt;Move&gt; */
+    static final MethodHandle POSSIBLE_MOVES;
+    /** Board.applyMove(Move) : Board */
+    static final MethodHandle APPLY_MOVE;
+    /** CompactBoard.of(Board) : CompactBoard */
+    static final MethodHandle COMPACT_OF;
+    /** new State(CompactBoard, State, int move, int cost, int heuristic) */
+    static final MethodHandle NEW_STATE;
+    /** State.hash() : long */
+    static final MethodHandle STATE_HASH;
+    /** Heuristic.estimate(Board, String) : int */
+    static final MethodHandle ESTIMATE_BOARD;
+    /** Heuristic.estimate(CompactBoard, String) : int */
+    static final MethodHandle ESTIMATE_COMPACT;
+    /** BatchMain.createSolver(String algo, Board, String heuristic) : Solver */
+    static final MethodHandle CREATE_SOLVER;
+    /** new SMAStar(Board, String heuristic, int maxNodes) */
+    static final MethodHandle NEW_SMA_STAR;
+    /** Move.amount : int */
+    static final MethodHandle MOVE_AMOUNT;
+    /** Solver.solve() */
+    static final MethodHandle SOLVE;
+    /** Solver.solve(SearchBudget, CancellationToken) : SolveResult */
+    static final MethodHandle SOLVE_BUDGETED;
+    /** CancellationToken.NONE */
+    static final Object NO_CANCELLATION;
+    /** Solver.getSolutionPath() : List&lt;Move&gt; */
+    static final MethodHandle SOLUTION_PATH;
+
+    static {
+        try {
+            Class<?> board = Class.forName("Board");
+            Class<?> move = Class.forName("Move");
+            Class<?> compact = Class.forName("CompactBoard");
+            Class<?> state = Class.forName("State");
+            Class<?> heuristic = Class.forName("Heuristic");
+            Class<?> solver = Class.forName("Solver");
+            READ_PUZZLE = handle(Class.forName("PuzzleFile").getMethod("read", File.class),
+                    MethodType.methodType(Object.class, File.class));
+            POSSIBLE_MOVES = handle(board.getMethod("getPossibleMoves"),
+                    MethodType.methodType(List.class, Object.class));
+            APPLY_MOVE = handle(board.getMethod("applyMove", move),
+                    MethodType.methodType(Object.class, Object.class, Object.class));
+            COMPACT_OF = handle(compact.getMethod("of", board),
+                    MethodType.methodType(Object.class, Object.class));
+            NEW_STATE = handle(state.getConstructor(compact, state, int.class, int.class, int.class),
+                    MethodType.methodType(Object.class, Object.class, Object.class, int.class, int.class, int.class));
+            STATE_HASH = handle(state.getMethod("hash"),
+                    MethodType.methodType(long.class, Object.class));
+            ESTIMATE_BOARD = handle(heuristic.getMethod("estimate", board, String.class),
+                    MethodType.methodType(int.class, Object.class, String.class));
+            ESTIMATE_COMPACT = handle(heuristic.getMethod("estimate", compact, String.class),
+                    MethodType.methodType(int.class, Object.class, String.class));
+            CREATE_SOLVER = handle(Class.forName("BatchMain").getDeclaredMethod("createSolver", String.class, board, String.class),
+                    MethodType.methodType(Object.class, String.class, Object.class, String.class));
+            NEW_SMA_STAR = handle(Class.forName("SMAStar").getConstructor(board, String.class, int.class),
+                    MethodType.methodType(Object.class, Object.class, String.class, int.class));
+            MOVE_AMOUNT = MethodHandles.lookup().unreflectGetter(move.getField("amount"))
+                    .asType(MethodType.methodType(int.class, Object.class));
+            SOLVE = handle(solver.getMethod("solve"),
+                    MethodType.methodType(void.class, Object.class));
+            Class<?> budget = Class.forName("SearchBudget");
+            Class<?> token = Class.forName("CancellationToken");
+            SOLVE_BUDGETED = handle(solver.getMethod("solve", budget, token),
+                    MethodType.methodType(Object.class, Object.class, Object.class, Object.class));
+            NO_CANCELLATION = token.getField("NONE").get(null);
+            SOLUTION_PATH = handle(solver.getMethod("getSolutionPath"),
+                    MethodType.methodType(List.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Targets() {
+    }
+
+    private static MethodHandle handle(Executable target, MethodType type) throws IllegalAccessException {
+        // Kelas solver ada di unnamed module, jadi setAccessible cukup untuk anggota package-private
+        target.setAccessible(true);
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle h = target instanceof Method
+                ? lookup.unreflect((Method) target)
+                : lookup.unreflectConstructor((Constructor<?>) target);
+        return h.asType(type);
+    }
+
+    /**
+     * Path puzzle relatif terhadap root repository (system property
+     * rushhour.root, default ".." karena benchmark dijalankan dari bench/).
+     */
+    static File puzzle(String name) {
+        return new File(System.getProperty("rushhour.root", ".."), name);
+    }
+
+    /**
+     * SearchBudget.UNLIMITED.withTimeLimit(ms).
+     */
+    static Object timeLimit(long ms) {
+        try {
+            Class<?> budget = Class.forName("SearchBudget");
+            return budget.getMethod("withTimeLimit", long.class).invoke(budget.getField("UNLIMITED").get(null), ms);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Gagal membuat SearchBudget", e);
+        }
+    }
+
+    /**
+     * Biaya jalur solusi dalam sel (jumlah Move.amount).
+     */
+    static int cost(List<?> path) throws Throwable {
+        int total = 0;
+        for (Object move : path) {
+            total += (int) MOVE_AMOUNT.invokeExact(move);
+        }
+        return total;
+    }
+
+    static Object readPuzzle(String name) {
+        try {
+            return READ_PUZZLE.invokeExact(puzzle(name));
+        } catch (Throwable t) {
+            throw new IllegalStateException("Gagal membaca puzzle " + name, t);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Anytime Repairing A* (ARA*): weighted A* yang dijalankan berulang dengan
+ * bobot heuristic menurun. Iterasi pertama (bobot besar) cepat menemukan
+ * solusi; setiap iterasi berikutnya memakai ulang tabel g dan open list
+ * sebelumnya, jadi hanya state yang nilainya berubah yang diekspansi lagi.
+ *
+ * Setiap kali solusi yang lebih murah ditemukan, solusi itu dikirim ke
+ * SolutionListener bersama batas suboptimalitasnya (biaya solusi paling
+ * banyak bound kali biaya optimal). Pencarian selesai dengan solusi yang
+ * terbukti optimal setelah iterasi dengan bobot 1. Jika budget habis setelah
+ * ada solusi, solusi terbaik saat itu tetap dikembalikan (lihat getBound).
+ *
+ * Bobot disimpan dalam persepuluhan agar kunci prioritas tetap integer untuk
+ * BucketQueue: key = 10 * g + bobot10 * h.
+ */
+public class ARAStar extends Solver {
+    private static final int SCALE = 10;
+
+    /**
+     * Menerima setiap solusi yang lebih baik dari sebelumnya.
+     */
+    public interface SolutionListener {
+        void onSolution(List<Move> path, int cost, double bound);
+    }
+
+    private final String heuristicMode;
+    private final int initialWeight;  // dalam persepuluhan
+    private final int weightStep;
+    private SolutionListener solutionListener;
+
+    private double bound = Double.POSITIVE_INFINITY;
+    private int weight;
+    private int iteration;
+    private Node incumbent;
+    private int publishedCost;
+
+    public ARAStar(Board board, String heuristicMode) {
+        this(board, heuristicMode, 3.0, 0.5);
+    }
+
+    /**
+     * @param initialWeight bobot heuristic iterasi pertama (>= 1)
+     * @param weightStep    penurunan bobot setiap iterasi
+     */
+    public ARAStar(Board board, String heuristicMode, double initialWeight, double weightStep) {
+        super(board);
+        this.heuristicMode = heuristicMode;
+        this.initialWeight = Math.max(SCALE, (int) Math.round(initialWeight * SCALE));
+        this.weightStep = Math.max(1, (int) Math.round(weightStep * SCALE));
+    }
+
+    public void setSolutionListener(SolutionListener listener) {
+        this.solutionListener = listener;
+    }
+
+    /**
+     * Batas suboptimalitas solusi terakhir: 1.0 berarti terbukti optimal,
+     * tak hingga jika belum ada solusi atau budget habis sebelum iterasi
+     * pertama selesai.
+     */
+    public double getBound() {
+        return bound;
+    }
+
+    private static final class Node {
+        final CompactBoard board;
+        final int h;
+        int g = Integer.MAX_VALUE;
+        Node parent;
+        int move;
+        boolean inOpen;
+        boolean inIncons;
+        boolean expanded;      // pernah diekspansi di iterasi mana pun
+        int closedIteration = -1;
+
+        Node(CompactBoard board, int h) {
+            this.board = board;
+            this.h = h;
+        }
+
+        List<Move> path() {
+            List<Move> path = new ArrayList<>();
+            for (Node n = this; n.parent != null; n = n.parent) {
+                path.add(Move.of(n.board.layout, n.move));
+            }
+            Collections.reverse(path);
+            return path;
+        }
+    }
+
+    private int key(Node n) {
+        return SCALE * n.g + weight * n.h;
+    }
+
+    @Override
+    public void solve() {
+        long startTime = System.currentTimeMillis();
+        CompactBoard initial = CompactBoard.of(startBoard);
+        MoveGenerator generator = new MoveGenerator(initial.layout);
+        int heuristicCode = Heuristic.modeOf(heuristicMode);
+        long stateBytes = stateBytes(initial.layout);
+
+        LongHashMap<Node> nodes = new LongHashMap<>();
+        BucketQueue<Node> open = new BucketQueue<>();
+        List<Node> incons = new ArrayList<>();
+        weight = initialWeight;
+        iteration = 0;
+        incumbent = null;
+        bound = Double.POSITIVE_INFINITY;
+        publishedCost = Integer.MAX_VALUE;
+
+        Node start = new Node(initial, Heuristic.estimate(initial, heuristicMode));
+        start.g = 0;
+        nodes.put(initial.key(), start);
+        if (initial.isGoal()) {
+            publish(start, 1.0);
+            this.solutionPath = start.path();
+            this.executionTimeMs = System.currentTimeMillis() - startTime;
+            return;
+        }
+        push(open, start);
+
+        int nodesVisited = 0;
+        boolean stopped = false;
+        while (true) {
+            // ImprovePath: berhenti begitu tidak ada node di open yang bisa memperbaiki solusi
+            while (!open.isEmpty()) {
+                int priority = open.minPriority();
+                if (incumbent != null && priority >= SCALE * incumbent.g) break;
+                Node s = open.poll();
+                if (!s.inOpen || priority != key(s)) continue;  // entri basi
+                s.inOpen = false;
+                s.closedIteration = iteration;
+                if (s.expanded) metrics.reExpansions++;
+                s.expanded = true;
+                nodesVisited++;
+                metrics.expand(s.g + s.h);
+                metrics.open(open.size());
+                metrics.closed(nodes.size());
+
+                long memory = nodes.size() * stateBytes + (long) open.size() * 16;
+                if (shouldStop(nodesVisited, memory, open.size(), s.g + s.h)) {
+                    stopped = true;
+                    break;
+                }
+
+                int moveCount = generator.generate(s.board);
+                metrics.generate(moveCount);
+                for (int i = 0; i < moveCount; i++) {
+                    int code = generator.move(i);
+                    CompactBoard next = s.board.applyMove(code);
+                    int g = s.g + Move.amount(code);
+                    Node n = nodes.get(next.key());
+                    if (n == null) {
+                        long t = metrics.heuristicStart();
+                        int h = Heuristic.estimate(next, code, s.h, heuristicCode);
+                        metrics.heuristicEnd(t);
+                        n = new Node(next, h);
+                        nodes.put(next.key(), n);
+                    }
+                    if (g >= n.g) {
+                        metrics.duplicate();
+                        continue;
+                    }
+                    n.g = g;
+                    n.parent = s;
+                    n.move = code;
+                    if (next.isGoal() && (incumbent == null || g < incumbent.g)) {
+                        incumbent = n;
+                    }
+                    if (n.closedIteration != iteration) {
+                        push(open, n);
+                    } else if (!n.inIncons) {
+                        // Sudah ditutup di iterasi ini: disimpan untuk iterasi berikutnya
+                        n.inIncons = true;
+                        incons.add(n);
+                    }
+                }
+            }
+            if (stopped) {
+                // Budget habis di tengah iterasi: solusi yang membaik di iterasi ini tetap dikirim.
+                // Bound iterasi terakhir yang selesai masih berlaku karena biayanya tidak lebih besar.
+                if (incumbent != null) publish(incumbent, bound);
+                break;
+            }
+
+            // Pindahkan open dan INCONS ke antrian baru dengan bobot berikutnya,
+            // sambil menghitung batas bawah min(g + h) untuk bound
+            int nextWeight = Math.max(SCALE, weight - weightStep);
+            List<Node> pending = new ArrayList<>(incons);
+            incons.clear();
+            while (!open.isEmpty()) {
+                Node n = open.poll();
+                if (n.inOpen) {
+                    n.inOpen = false;
+                    pending.add(n);
+                }
+            }
+            int lowerBound = Integer.MAX_VALUE;
+            for (Node n : pending) {
+                n.inIncons = false;
+                lowerBound = Math.min(lowerBound, n.g + n.h);
+            }
+
+            if (incumbent != null) {
+                double proven = lowerBound == Integer.MAX_VALUE ? 1.0
+                        : Math.max(1.0, Math.min((double) weight / SCALE, (double) incumbent.g / lowerBound));
+                publish(incumbent, proven);
+            }
+            if (weight == SCALE || pending.isEmpty()) break;
+
+            weight = nextWeight;
+            iteration++;
+            metrics.iterations = iteration + 1;
+            for (Node n : pending) {
+                if (!n.inOpen) push(open, n);
+            }
+        }
+
+        this.visitedCount = nodesVisited;
+        this.executionTimeMs = System.currentTimeMillis() - startTime;
+        if (incumbent != null) {
+            this.solutionPath = incumbent.path();
+            // Solusi anytime tetap dikembalikan walaupun budget habis, kecuali dibatalkan
+            if (!"cancelled".equals(stopReason)) stopReason = null;
+        } else if (stopReason == null) {
+            System.out.println("Tidak ada solusi ditemukan.");
+        }
+    }
+
+    private void push(BucketQueue<Node> open, Node n) {
+        n.inOpen = true;
+        open.add(key(n), n);
+    }
+
+    /**
+     * Mengirim solusi ke listener jika biayanya lebih murah atau bound-nya lebih ketat.
+     */
+    private void publish(Node goal, double proven) {
+        List<Move> path = goal.path();
+        int cost = 0;
+        for (Move m : path) cost += m.amount;
+        if (cost >= publishedCost && proven >= bound) return;
+        publishedCost = Math.min(publishedCost, cost);
+        bound = Math.min(bound, proven);
+        if (solutionListener != null) {
+            solutionListener.onSolution(path, cost, bound);
+        }
+    }
+}
@@ -11,52 +11,61 @@ public class AStar extends Solver {
     public void solve() {
         long startTime = System.currentTimeMillis();
 
-        // Gunakan comparator yang lebih konkret untuk menghindari inconsistent ordering
-        PriorityQueue<State> pq = new PriorityQueue<>(
-            (a, b) -> {
-                int scoreA = a.cost + a.heuristic;
-                int scoreB = b.cost + b.heuristic;
-                if (scoreA != scoreB) {
-                    return Integer.compare(scoreA, scoreB);
-                }
-                // Tie-breaker untuk konsistensi (bisa menggunakan path length atau hashCode)
-                return Integer.compare(a.hashCode(), b.hashCode());
-            }
-        );
-        
-        Set<String> visited = new HashSet<>();
+        // Bucket per nilai f; di dalam bucket yang sama g terbesar diambil dulu
+        BucketQueue<State> pq = new BucketQueue<>(true);
+
+        int heuristicCode = Heuristic.modeOf(heuristicMode);
+        // State cermin hanya boleh digabung jika heuristic-nya juga bernilai sama untuk cermin
+        ClosedSet visited = new ClosedSet(Heuristic.isSymmetric(heuristicCode));
+
+        CompactBoard initial = CompactBoard.of(startBoard);
+        MoveGenerator generator = new MoveGenerator(initial.layout);
 
-        State start = new State(startBoard, new ArrayList<>(), 0, Heuristic.estimate(startBoard, heuristicMode));
-        pq.add(start);
+        State start = new State(initial, null, 0, 0, Heuristic.estimate(initial, heuristicMode));
+        pq.add(start.cost + start.heuristic, start.cost, start);
 
         int nodesVisited = 0;
+        long stateBytes = stateBytes(initial.layout);
 
         while (!pq.isEmpty()) {
             State current = pq.poll();
-            String currentHash = current.hash();
-            
-            if (visited.contains(currentHash)) continue;
-            visited.add(currentHash);
+            if (!visited.add(current.board)) {
+                metrics.duplicate();
+                continue;
+            }
             nodesVisited++;
+            metrics.expand(current.cost + current.heuristic);
+            metrics.open(pq.size());
+            metrics.closed(visited.size());
 
             if (current.board.isGoal()) {
                 long endTime = System.currentTimeMillis();
-                this.solutionPath = current.path;
+                this.solutionPath = current.path();
                 this.visitedCount = nodesVisited;
                 this.executionTimeMs = endTime - startTime;
                 return;
             }
+            long memory = visited.memoryBytes() + (visited.size() + (long) pq.size()) * stateBytes;
+            if (shouldStop(nodesVisited, memory, pq.size(), current.cost + current.heuristic)) break;
 
-            for (Move move : current.board.getPossibleMoves()) {
-                Board newBoard = current.board.applyMove(move);
-                List<Move> newPath = new ArrayList<>(current.path);
-                newPath.add(move);
-                int h = Heuristic.estimate(newBoard, heuristicMode);
-                pq.add(new State(newBoard, newPath, current.cost + move.amount, h));
+            int moveCount = generator.generate(current.board);
+            metrics.generate(moveCount);
+            for (int i = 0; i < moveCount; i++) {
+                int code = generator.move(i);
+                CompactBoard newBoard = current.board.applyMove(code);
+                long t = metrics.heuristicStart();
+                int h = Heuristic.estimate(newBoard, code, current.heuristic, heuristicCode);
+                metrics.heuristicEnd(t);
+                int g = current.cost + Move.amount(code);
+                pq.add(g + h, g, new State(newBoard, current, code, g, h));
             }
         }
 
-        System.out.println("Tidak ada solusi ditemukan.");
+        this.visitedCount = nodesVisited;
+        this.executionTimeMs = System.currentTimeMillis() - startTime;
+        if (stopReason == null) {
+            System.out.println("Tidak ada solusi ditemukan.");
+        }
     }
 
     private void printPath(State finalState) {
@@ -64,7 +73,7 @@ public class AStar extends Solver {
         startBoard.print();
         Board current = startBoard;
         int step = 1;
-        for (Move move : finalState.path) {
+        for (Move move : finalState.path()) {
             System.out.println("Gerakan " + step + ": " + move);
             current = current.applyMove(move);
             current.print();
@@ -0,0 +1,337 @@
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mode batch tanpa interaksi: menyelesaikan banyak file puzzle sekaligus.
+ *
+ * Input berupa direktori (semua file .txt di dalamnya) atau manifest (satu
+ * path per baris, relatif terhadap lokasi manifest, baris '#' diabaikan).
+ * Setiap puzzle dibaca dan diselesaikan di worker pool, dengan timeout dan
+ * batas memori per puzzle. Hasil ditulis ke sink JSONL atau CSV begitu
+ * setiap puzzle selesai.
+ *
+ * Penggunaan:
+ *   java BatchMain <direktori|manifest> [--algo a*] [--heuristic 1]
+ *       [--threads N | --virtual] [--timeout-ms 30000] [--max-nodes N]
+ *       [--max-mem-mb 512] [--format jsonl|csv] [--out file]
+ *       [--cache file] [--cache-size 100000] [--metrics file.prom] [--jfr]
+ *       [--beam-width 1000]
+ *
+ * Dengan --cache, solusi dimuat dari file sebelum batch dan disimpan kembali
+ * sesudahnya, jadi puzzle (atau posisi di tengah jalur solusi) yang sudah
+ * pernah diselesaikan tidak dicari ulang. --metrics menulis statistik solve
+ * (SearchMetrics), dijumlahkan per algoritma dan heuristic, ke file format
+ * Prometheus, berkala dan di akhir batch; --jfr mengirimnya sebagai event JFR ke rekaman yang sedang aktif.
+ * --beam-width mengatur lebar beam untuk --algo beam.
+ */
+public class BatchMain {
+    // Selang penulisan ulang file --metrics selama batch berjalan
+    private static final long METRICS_FLUSH_MS = 10_000;
+
+    private String algo = "a*";
+    private String heuristic = "1";
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private boolean virtual = false;
+    private SearchBudget budget = SearchBudget.UNLIMITED.withTimeLimit(30_000);
+    private boolean csv = false;
+    private String out = null;
+    private String cacheFile = null;
+    private int cacheSize = 100_000;
+    private SolutionCache cache;
+    private PrometheusMetricsExporter prometheus;
+    private boolean jfr = false;
+    private int beamWidth = BeamSearch.DEFAULT_WIDTH;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.out.println("Penggunaan: java BatchMain <direktori|manifest> [--algo a*] [--heuristic 1] "
+                    + "[--threads N | --virtual] [--timeout-ms 30000] [--max-nodes N] [--max-mem-mb 512] [--format jsonl|csv] [--out file] "
+                    + "[--cache file] [--cache-size 100000] [--metrics file.prom] [--jfr] [--beam-width 1000]");
+            return;
+        }
+        BatchMain batch = new BatchMain();
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--algo" -> batch.algo = args[++i].toLowerCase();
+                case "--heuristic" -> batch.heuristic = args[++i];
+                case "--threads" -> batch.threads = Math.max(1, Integer.parseInt(args[++i]));
+                case "--virtual" -> batch.virtual = true;
+                case "--timeout-ms" -> batch.budget = batch.budget.withTimeLimit(Long.parseLong(args[++i]));
+                case "--max-nodes" -> batch.budget = batch.budget.withMaxExpanded(Long.parseLong(args[++i]));
+                case "--max-mem-mb" -> batch.budget = batch.budget.withMaxMemory(Long.parseLong(args[++i]) << 20);
+                case "--format" -> batch.csv = args[++i].equalsIgnoreCase("csv");
+                case "--out" -> batch.out = args[++i];
+                case "--cache" -> batch.cacheFile = args[++i];
+                case "--cache-size" -> batch.cacheSize = Math.max(1, Integer.parseInt(args[++i]));
+                case "--metrics" -> batch.prometheus = new PrometheusMetricsExporter(Path.of(args[++i]));
+                case "--jfr" -> batch.jfr = true;
+                case "--beam-width" -> batch.beamWidth = Math.max(1, Integer.parseInt(args[++i]));
+                default -> {
+                    System.out.println("Opsi tidak dikenali: " + args[i]);
+                    return;
+                }
+            }
+        }
+        batch.run(puzzleFiles(new File(args[0])));
+    }
+
+    /**
+     * Daftar file puzzle dari direktori atau manifest.
+     */
+    static List<File> puzzleFiles(File input) throws IOException {
+        List<File> files = new ArrayList<>();
+        if (input.isDirectory()) {
+            File[] entries = input.listFiles((dir, name) -> name.endsWith(".txt"));
+            if (entries != null) {
+                Arrays.sort(entries);
+                files.addAll(Arrays.asList(entries));
+            }
+            return files;
+        }
+        File base = input.getAbsoluteFile().getParentFile();
+        for (String line : Files.readAllLines(input.toPath())) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            File f = new File(line);
+            files.add(f.isAbsolute() ? f : new File(base, line));
+        }
+        return files;
+    }
+
+    void run(List<File> files) throws IOException, InterruptedException {
+        // Pesan dari solver dialihkan ke stderr agar stdout hanya berisi hasil
+        PrintStream stdout = System.out;
+        System.setOut(System.err);
+        Writer writer = out == null
+                ? new OutputStreamWriter(stdout)
+                : new BufferedWriter(new FileWriter(out));
+        ResultSink sink = new ResultSink(writer, csv);
+        if (cacheFile != null) {
+            cache = new SolutionCache(cacheSize);
+            try {
+                cache.load(new File(cacheFile));
+            } catch (IOException e) {
+                System.err.println("Cache tidak dapat dimuat, mulai dari kosong: " + e.getMessage());
+                cache.clear();
+            }
+        }
+        ExecutorService pool = virtual ? virtualExecutor() : null;
+        if (pool == null) {
+            if (virtual) System.err.println("Virtual thread tidak tersedia di JVM ini; memakai fixed thread pool.");
+            pool = Executors.newFixedThreadPool(threads);
+        }
+        // Membatasi jumlah solve yang berjalan bersamaan, juga untuk virtual thread
+        Semaphore slots = new Semaphore(threads);
+
+        // File metrik ditulis berkala dari thread terpisah, bukan dari setiap solve
+        ScheduledExecutorService flusher = null;
+        if (prometheus != null) {
+            flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "metrics-flush");
+                t.setDaemon(true);
+                return t;
+            });
+            flusher.scheduleWithFixedDelay(prometheus::flush, METRICS_FLUSH_MS, METRICS_FLUSH_MS, TimeUnit.MILLISECONDS);
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            for (File file : files) {
+                pool.submit(() -> {
+                    slots.acquireUninterruptibly();
+                    try {
+                        sink.write(solveOne(file));
+                    } finally {
+                        slots.release();
+                    }
+                });
+            }
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } finally {
+            if (flusher != null) {
+                flusher.shutdownNow();
+                prometheus.flush();
+            }
+            sink.close();
+            System.setOut(stdout);
+        }
+        System.err.println(files.size() + " puzzle diproses dalam " + (System.currentTimeMillis() - start) + " ms");
+        if (cache != null) {
+            System.err.println("Cache: " + cache.hits() + " hit, " + cache.misses() + " miss, " + cache.size() + " entri");
+            cache.save(new File(cacheFile));
+        }
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor lewat reflection agar tetap bisa
+     * dikompilasi di JDK tanpa virtual thread; null jika tidak tersedia.
+     */
+    private static ExecutorService virtualExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Membaca dan menyelesaikan satu puzzle di thread pemanggil dengan budget
+     * waktu dan memori per puzzle. Tidak pernah melempar: kegagalan apa pun
+     * (termasuk Error seperti StackOverflowError) menjadi baris "error", karena
+     * exception yang lolos hanya tertelan di Future dan puzzle-nya hilang dari output.
+     */
+    private Result solveOne(File file) {
+        Result result = new Result(file.getPath());
+        try {
+            Board board = PuzzleFile.read(file);
+            // Lebar beam ikut di nama algoritma agar entri cache dan label metrik tiap lebar terpisah
+            String name = algo.equals("beam") ? "beam:" + beamWidth : algo;
+            Solver solver = createSolver(name, board, heuristic);
+            if (solver == null) {
+                result.status = "error";
+                result.error = "Algoritma tidak dikenali: " + algo;
+                return result;
+            }
+            if (cache != null) solver = new CachingSolver(solver, cache, name, heuristic);
+            if (prometheus != null) solver.addMetricsListener(prometheus.forSolve(name, heuristic));
+            if (jfr) solver.addMetricsListener(new JfrMetricsExporter(file.getName(), name));
+            SolveResult solved = solver.solve(budget, CancellationToken.NONE);
+            result.visited = solved.expanded;
+            result.timeMs = solved.timeMs;
+            result.status = switch (solved.status) {
+                case SOLVED -> "solved";
+                case UNSOLVABLE -> "no_solution";
+                case CANCELLED -> "cancelled";
+                case BUDGET_EXCEEDED -> solved.limit.equals("time") ? "timeout" : solved.limit;
+            };
+            if (solved.isSolved()) {
+                result.moves = solved.path.size();
+                result.cost = solved.cost();
+            }
+        } catch (OutOfMemoryError e) {
+            result.status = "memory";
+        } catch (Throwable e) {
+            result.status = "error";
+            result.error = e.getMessage() == null ? e.toString() : e.getMessage();
+        }
+        return result;
+    }
+
+    /**
+     * Sama dengan pilihan algoritma di Main, tanpa fallback interaktif.
+     * "beam:W" membuat beam search dengan lebar W.
+     */
+    static Solver createSolver(String algo, Board board, String heuristic) {
+        if (algo.startsWith("beam:")) {
+            return new BeamSearch(board, heuristic, Integer.parseInt(algo.substring("beam:".length())));
+        }
+        return switch (algo) {
+            case "ucs" -> new UCS(board);
+            case "gbfs" -> new GBFS(board, heuristic);
+            case "a*", "astar" -> new AStar(board, heuristic);
+            case "ida*", "idastar" -> new IDAStar(board, heuristic);
+            case "pida*", "pidastar" -> new ParallelIDAStar(board, heuristic);
+            case "biucs" -> new BidirectionalSearch(board, null);
+            case "bia*", "biastar" -> new BidirectionalSearch(board, heuristic);
+            case "hda*", "hdastar" -> new ParallelAStar(board, heuristic);
+            case "sma*", "smastar" -> new SMAStar(board, heuristic);
+            case "ara*", "arastar" -> new ARAStar(board, heuristic);
+            case "beam" -> new BeamSearch(board, heuristic);
+            case "ext-ucs" -> new ExternalAStar(board, null);
+            case "ext-a*", "extastar" -> new ExternalAStar(board, heuristic);
+            default -> null;
+        };
+    }
+
+    static final class Result {
+        final String file;
+        String status;
+        int moves = -1;
+        int cost = -1;
+        int visited;
+        long timeMs;
+        String error;
+
+        Result(String file) {
+            this.file = file;
+        }
+    }
+
+    /**
+     * Menulis satu baris per hasil dan langsung flush, jadi hasil bisa dibaca
+     * selagi batch masih berjalan. Dipanggil dari banyak worker sekaligus.
+     */
+    static final class ResultSink {
+        private final Writer writer;
+        private final boolean csv;
+
+        ResultSink(Writer writer, boolean csv) throws IOException {
+            this.writer = writer;
+            this.csv = csv;
+            if (csv) {
+                writer.write("file,status,moves,cost,visited,time_ms,error\n");
+                writer.flush();
+            }
+        }
+
+        synchronized void write(Result r) {
+            try {
+                if (csv) {
+                    writer.write(csvField(r.file) + "," + r.status + "," + r.moves + "," + r.cost + ","
+                            + r.visited + "," + r.timeMs + "," + (r.error == null ? "" : csvField(r.error)) + "\n");
+                } else {
+                    writer.write("{\"file\":" + jsonString(r.file) + ",\"status\":\"" + r.status + "\",\"moves\":" + r.moves
+                            + ",\"cost\":" + r.cost + ",\"visited\":" + r.visited + ",\"timeMs\":" + r.timeMs
+                            + (r.error == null ? "" : ",\"error\":" + jsonString(r.error)) + "}\n");
+                }
+                writer.flush();
+            } catch (IOException e) {
+                System.err.println("Gagal menulis hasil " + r.file + ": " + e.getMessage());
+            }
+        }
+
+        synchronized void close() throws IOException {
+            writer.flush();
+            if (!(writer instanceof OutputStreamWriter)) writer.close();
+        }
+
+        private static String csvField(String s) {
+            if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0) return s;
+            return "\"" + s.replace("\"", "\"\"") + "\"";
+        }
+
+        private static String jsonString(String s) {
+            StringBuilder sb = new StringBuilder("\"");
+            for (char c : s.toCharArray()) {
+                switch (c) {
+                    case '"' -> sb.append("\\\"");
+                    case '\\' -> sb.append("\\\\");
+                    case '\n' -> sb.append("\\n");
+                    case '\r' -> sb.append("\\r");
+                    case '\t' -> sb.append("\\t");
+                    default -> {
+                        if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                        else sb.append(c);
+                    }
+                }
+            }
+            return sb.append('"').toString();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+import java.util.Arrays;
+
+/**
+ * Beam search: GBFS per lapisan kedalaman yang hanya menyimpan W state
+ * terbaik (h terkecil, lalu g terkecil) di setiap lapisan. Memori dan waktu
+ * per lapisan terbatas O(W * branching), tetapi pencarian tidak lengkap dan
+ * solusinya tidak optimal; jika beam habis sebelum goal ditemukan setelah ada
+ * lapisan yang dipotong, pencarian berhenti dengan stopReason "beam" (belum
+ * tentu tidak ada solusi).
+ *
+ * W terbaik dipilih dengan quickselect (rata-rata linear), bukan dengan
+ * mengurutkan seluruh kandidat. Duplikat dibuang di dalam lapisan yang sama
+ * dan terhadap semua state yang pernah masuk beam.
+ */
+public class BeamSearch extends Solver {
+    public static final int DEFAULT_WIDTH = 1000;
+
+    private final String heuristicMode;
+    private final int width;
+
+    public BeamSearch(Board board, String heuristicMode) {
+        this(board, heuristicMode, DEFAULT_WIDTH);
+    }
+
+    public BeamSearch(Board board, String heuristicMode, int width) {
+        super(board);
+        this.heuristicMode = heuristicMode;
+        this.width = Math.max(1, width);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public void solve() {
+        long startTime = System.currentTimeMillis();
+        int heuristicCode = Heuristic.modeOf(heuristicMode);
+        CompactBoard initial = CompactBoard.of(startBoard);
+        MoveGenerator generator = new MoveGenerator(initial.layout);
+        long stateBytes = stateBytes(initial.layout);
+
+        // State yang pernah masuk beam; cermin hanya digabung jika heuristic-nya simetris
+        boolean canonical = Heuristic.isSymmetric(heuristicCode);
+        ClosedSet visited = new ClosedSet(canonical);
+        LongHashSet layerKeys = new LongHashSet();
+        int maxCandidates = width * MoveGenerator.maxMoves(initial.layout);
+        State[] candidates = new State[Math.min(maxCandidates, 1 << 16)];
+        long[] keys = new long[candidates.length];
+
+        State start = new State(initial, null, 0, 0, Heuristic.estimate(initial, heuristicMode));
+        visited.add(initial);
+        if (initial.isGoal()) {
+            this.solutionPath = start.path();
+            this.executionTimeMs = System.currentTimeMillis() - startTime;
+            return;
+        }
+        State[] beam = {start};
+        int beamSize = 1;
+        int nodesVisited = 0;
+        boolean truncated = false;  // ada lapisan yang dipotong ke W
+
+        while (beamSize > 0) {
+            int count = 0;
+            layerKeys.clear();
+            for (int b = 0; b < beamSize; b++) {
+                State current = beam[b];
+                nodesVisited++;
+                metrics.expand(current.heuristic);
+                long memory = visited.memoryBytes() + ((long) width + count) * stateBytes;
+                if (shouldStop(nodesVisited, memory, count, current.heuristic)) {
+                    this.visitedCount = nodesVisited;
+                    this.executionTimeMs = System.currentTimeMillis() - startTime;
+                    return;
+                }
+
+                int moveCount = generator.generate(current.board);
+                metrics.generate(moveCount);
+                for (int i = 0; i < moveCount; i++) {
+                    int code = generator.move(i);
+                    CompactBoard newBoard = current.board.applyMove(code);
+                    long key = canonical ? newBoard.canonicalKey() : newBoard.key();
+                    if (visited.contains(newBoard) || !layerKeys.add(key)) {
+                        metrics.duplicate();
+                        continue;
+                    }
+                    State child = new State(newBoard, current, code, current.cost + Move.amount(code), 0);
+                    if (newBoard.isGoal()) {
+                        this.solutionPath = child.path();
+                        this.visitedCount = nodesVisited;
+                        this.executionTimeMs = System.currentTimeMillis() - startTime;
+                        return;
+                    }
+                    long t = metrics.heuristicStart();
+                    child.heuristic = Heuristic.estimate(newBoard, code, current.heuristic, heuristicCode);
+                    metrics.heuristicEnd(t);
+
+                    if (count == candidates.length) {
+                        candidates = Arrays.copyOf(candidates, count * 2);
+                        keys = Arrays.copyOf(keys, count * 2);
+                    }
+                    candidates[count] = child;
+                    keys[count] = ((long) child.heuristic << 32) | child.cost;
+                    count++;
+                }
+            }
+            metrics.open(count);
+
+            // Hanya W kandidat terbaik yang lanjut ke lapisan berikutnya
+            if (count > width) {
+                select(keys, candidates, count, width);
+                count = width;
+                truncated = true;
+            }
+            if (beam.length < count) beam = new State[Math.min(width, Math.max(count, beam.length * 2))];
+            for (int i = 0; i < count; i++) {
+                beam[i] = candidates[i];
+                visited.add(candidates[i].board);
+                candidates[i] = null;
+            }
+            beamSize = count;
+            metrics.closed(visited.size());
+        }
+
+        this.visitedCount = nodesVisited;
+        this.executionTimeMs = System.currentTimeMillis() - startTime;
+        if (stopReason == null) {
+            if (truncated) {
+                // Beam habis: belum tentu tidak ada solusi, hanya tidak terjangkau dengan lebar ini
+                stopReason = "beam";
+            } else {
+                // Tidak ada lapisan yang dipotong, jadi seluruh ruang state sudah dijelajahi
+                System.out.println("Tidak ada solusi ditemukan.");
+            }
+        }
+    }
+
+    /**
+     * Quickselect: menyusun ulang sehingga k elemen dengan key terkecil ada di
+     * indeks [0, k), tanpa urutan tertentu di dalamnya.
+     */
+    static void select(long[] keys, State[] items, int n, int k) {
+        int lo = 0, hi = n - 1;
+        while (lo < hi) {
+            // Pivot median dari tiga untuk menghindari kasus terburuk pada input terurut
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid] < keys[lo]) swap(keys, items, mid, lo);
+            if (keys[hi] < keys[lo]) swap(keys, items, hi, lo);
+            if (keys[hi] < keys[mid]) swap(keys, items, hi, mid);
+            long pivot = keys[mid];
+
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (keys[i] < pivot) i++;
+                while (keys[j] > pivot) j--;
+                if (i <= j) {
+                    swap(keys, items, i, j);
+                    i++;
+                    j--;
+                }
+            }
+            // Sekarang [lo, j] <= pivot dan [i, hi] >= pivot
+            if (k - 1 <= j) {
+                hi = j;
+            } else if (k - 1 >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static void swap(long[] keys, State[] items, int a, int b) {
+        long k = keys[a];
+        keys[a] = keys[b];
+        keys[b] = k;
+        State s = items[a];
+        items[a] = items[b];
+        items[b] = s;
+    }
+}
@@ -0,0 +1,249 @@
+import java.util.*;
+
+/**
+ * Pencarian dua arah untuk UCS (heuristicMode null) dan A*.
+ * Frontier maju berangkat dari papan awal, frontier mundur dari semua state
+ * goal yang bisa dibangkitkan (primary piece di pintu keluar, piece lain di
+ * posisi apa pun yang tidak bertabrakan). Karena setiap gerakan bisa dibalik
+ * dengan biaya yang sama, successor di arah mundur sama dengan arah maju.
+ *
+ * Jika jumlah state goal melebihi MAX_GOAL_STATES, pencarian kembali ke
+ * UCS/A* satu arah agar hasil tetap optimal.
+ */
+public class BidirectionalSearch extends Solver {
+    private static final int MAX_GOAL_STATES = 50_000;
+
+    private String heuristicMode;  // null berarti UCS dua arah
+    private int goalEstimate;      // nilai heuristic di state goal, dikurangkan agar h(goal) = 0
+
+    public BidirectionalSearch(Board board, String heuristicMode) {
+        super(board);
+        this.heuristicMode = heuristicMode;
+    }
+
+    @Override
+    public void solve() {
+        long startTime = System.currentTimeMillis();
+
+        CompactBoard initial = CompactBoard.of(startBoard);
+        List<CompactBoard> goals = goalStates(initial.layout, MAX_GOAL_STATES);
+        if (goals == null) {
+            // Terlalu banyak state goal untuk disemai; pakai pencarian satu arah
+            Solver fallback = heuristicMode == null ? new UCS(startBoard) : new AStar(startBoard, heuristicMode);
+            SolveResult result = fallback.solve(budget, token);
+            this.solutionPath = result.path;
+            this.visitedCount = fallback.visitedCount;
+            this.stopReason = fallback.stopReason;
+            this.frontierSize = result.frontierSize;
+            this.bestBound = result.bestBound;
+            metrics.merge(fallback.getMetrics());
+            this.executionTimeMs = System.currentTimeMillis() - startTime;
+            return;
+        }
+
+        if (goals.isEmpty()) {
+            // Pintu keluar tidak sejajar dengan primary piece; goal tidak mungkin dicapai
+            this.executionTimeMs = System.currentTimeMillis() - startTime;
+            System.out.println("Tidak ada solusi ditemukan.");
+            return;
+        }
+
+        BucketQueue<State> forwardOpen = new BucketQueue<>();
+        BucketQueue<State> backwardOpen = new BucketQueue<>();
+        LongHashMap<State> forwardBest = new LongHashMap<>();
+        LongHashMap<State> backwardBest = new LongHashMap<>();
+        LongHashSet forwardClosed = new LongHashSet();
+        LongHashSet backwardClosed = new LongHashSet();
+
+        int startPrimary = initial.position(initial.layout.primaryIndex);
+        MoveGenerator generator = new MoveGenerator(initial.layout);
+        goalEstimate = forwardEstimate(goals.get(0));
+
+        State start = new State(initial, null, 0, 0, forwardEstimate(initial));
+        forwardOpen.add(start.cost + start.heuristic, start);
+        forwardBest.put(initial.key(), start);
+        for (CompactBoard goal : goals) {
+            State s = new State(goal, null, 0, 0, backwardEstimate(goal, startPrimary));
+            backwardOpen.add(s.cost + s.heuristic, s);
+            backwardBest.put(goal.key(), s);
+        }
+
+        int best = Integer.MAX_VALUE;  // biaya jalur terbaik yang sudah ditemukan (mu)
+        State meetForward = null, meetBackward = null;
+        State startAsGoal = backwardBest.get(initial.key());
+        if (startAsGoal != null) {
+            best = 0;
+            meetForward = start;
+            meetBackward = startAsGoal;
+        }
+
+        int nodesVisited = 0;
+        long stateBytes = stateBytes(initial.layout);
+
+        while (true) {
+            State topForward = peekLive(forwardOpen, forwardBest, forwardClosed);
+            State topBackward = peekLive(backwardOpen, backwardBest, backwardClosed);
+            if (topForward == null || topBackward == null) break;
+
+            // Tidak ada jalur yang lebih murah dari best yang masih mungkin ditemukan
+            int bound = heuristicMode == null
+                    ? topForward.cost + topBackward.cost
+                    : Math.max(topForward.cost + topForward.heuristic, topBackward.cost + topBackward.heuristic);
+            if (bound >= best) break;
+
+            // Perluas sisi dengan frontier yang lebih kecil
+            boolean forward = forwardOpen.size() <= backwardOpen.size();
+            BucketQueue<State> open = forward ? forwardOpen : backwardOpen;
+            LongHashMap<State> mine = forward ? forwardBest : backwardBest;
+            LongHashMap<State> other = forward ? backwardBest : forwardBest;
+            LongHashSet closed = forward ? forwardClosed : backwardClosed;
+
+            State current = open.poll();
+            closed.add(current.board.key());
+            nodesVisited++;
+            metrics.expand(current.cost + current.heuristic);
+            metrics.open(forwardOpen.size() + backwardOpen.size());
+            metrics.closed(forwardClosed.size() + backwardClosed.size());
+            long memory = forwardClosed.memoryBytes() + backwardClosed.memoryBytes()
+                    + (long) (forwardBest.size() + backwardBest.size()) * stateBytes;
+            if (shouldStop(nodesVisited, memory, forwardOpen.size() + backwardOpen.size(), bound)) break;
+
+            int moveCount = generator.generate(current.board);
+            metrics.generate(moveCount);
+            for (int i = 0; i < moveCount; i++) {
+                int code = generator.move(i);
+                CompactBoard next = current.board.applyMove(code);
+                long key = next.key();
+                int g = current.cost + Move.amount(code);
+
+                State known = mine.get(key);
+                if (known != null && known.cost <= g) {
+                    metrics.duplicate();
+                    continue;
+                }
+
+                long t = metrics.heuristicStart();
+                int h = forward ? forwardEstimate(next) : backwardEstimate(next, startPrimary);
+                metrics.heuristicEnd(t);
+                State child = new State(next, current, code, g, h);
+                mine.put(key, child);
+                open.add(g + h, child);
+
+                State opposite = other.get(key);
+                if (opposite != null && g + opposite.cost < best) {
+                    best = g + opposite.cost;
+                    meetForward = forward ? child : opposite;
+                    meetBackward = forward ? opposite : child;
+                }
+            }
+        }
+
+        this.visitedCount = nodesVisited;
+        this.executionTimeMs = System.currentTimeMillis() - startTime;
+
+        if (stopReason != null) return;
+        if (meetForward == null) {
+            System.out.println("Tidak ada solusi ditemukan.");
+            return;
+        }
+
+        // Gabungkan jalur maju dengan kebalikan jalur mundur
+        List<Move> path = meetForward.path();
+        for (State s = meetBackward; s.parent != null; s = s.parent) {
+            path.add(Move.of(s.board.layout, Move.reverse(s.move)));
+        }
+        this.solutionPath = path;
+    }
+
+    /**
+     * Membuang node usang (sudah ditutup atau punya g lebih besar dari yang
+     * tercatat) dari puncak antrian, lalu mengembalikan puncaknya.
+     */
+    private static State peekLive(BucketQueue<State> open, LongHashMap<State> best, LongHashSet closed) {
+        while (!open.isEmpty()) {
+            State top = open.peek();
+            long key = top.board.key();
+            if (!closed.contains(key) && best.get(key) == top) return top;
+            open.poll();
+        }
+        return null;
+    }
+
+    /**
+     * Heuristic arah maju. Jarak ke pintu keluar bernilai 1 di state goal, jadi
+     * dikurangi goalEstimate; syarat berhenti dua arah butuh h(goal) = 0.
+     */
+    private int forwardEstimate(CompactBoard board) {
+        return heuristicMode == null ? 0 : Heuristic.estimate(board, heuristicMode) - goalEstimate;
+    }
+
+    /**
+     * Heuristic arah mundur: primary piece minimal harus kembali sejauh selisih
+     * posisinya dengan posisi awal.
+     */
+    private int backwardEstimate(CompactBoard board, int startPrimary) {
+        if (heuristicMode == null) return 0;
+        return Math.abs(board.position(board.layout.primaryIndex) - startPrimary);
+    }
+
+    /**
+     * Membangkitkan semua state goal: primary piece tepat di pintu keluar dan
+     * piece lain di setiap kombinasi posisi yang tidak saling menimpa.
+     * Mengembalikan null jika jumlahnya melebihi limit.
+     */
+    static List<CompactBoard> goalStates(BoardLayout layout, int limit) {
+        List<CompactBoard> goals = new ArrayList<>();
+        int p = layout.primaryIndex;
+        if (p < 0 || layout.exitRow < 0 || layout.exitCol < 0) return goals;
+
+        int exitLane = layout.isHorizontal(p) ? layout.exitRow : layout.exitCol;
+        int exitPos = layout.isHorizontal(p) ? layout.exitCol : layout.exitRow;
+        int goalPos = exitPos - layout.length(p);
+        if (layout.lane(p) != exitLane || goalPos < 0 || exitPos > layout.laneSize(p)) return goals;
+
+        byte[] pos = new byte[layout.pieceCount];
+        boolean[] occ = new boolean[layout.rows * layout.cols];
+        pos[p] = (byte) goalPos;
+        mark(layout, occ, p, goalPos, true);
+        return place(layout, occ, pos, 0, goals, limit) ? goals : null;
+    }
+
+    private static boolean place(BoardLayout layout, boolean[] occ, byte[] pos, int piece, List<CompactBoard> goals, int limit) {
+        if (piece == layout.pieceCount) {
+            if (goals.size() >= limit) return false;
+            goals.add(new CompactBoard(layout, pos.clone()));
+            return true;
+        }
+        if (piece == layout.primaryIndex) {
+            return place(layout, occ, pos, piece + 1, goals, limit);
+        }
+        for (int at = 0; at + layout.length(piece) <= layout.laneSize(piece); at++) {
+            if (!fits(layout, occ, piece, at)) continue;
+            pos[piece] = (byte) at;
+            mark(layout, occ, piece, at, true);
+            boolean ok = place(layout, occ, pos, piece + 1, goals, limit);
+            mark(layout, occ, piece, at, false);
+            if (!ok) return false;
+        }
+        return true;
+    }
+
+    private static boolean fits(BoardLayout layout, boolean[] occ, int piece, int at) {
+        for (int k = 0; k < layout.length(piece); k++) {
+            if (occ[cell(layout, piece, at + k)]) return false;
+        }
+        return true;
+    }
+
+    private static void mark(BoardLayout layout, boolean[] occ, int piece, int at, boolean value) {
+        for (int k = 0; k < layout.length(piece); k++) {
+            occ[cell(layout, piece, at + k)] = value;
+        }
+    }
+
+    private static int cell(BoardLayout layout, int piece, int along) {
+        return layout.isHorizontal(piece)
+                ? layout.lane(piece) * layout.cols + along
+                : along * layout.cols + layout.lane(piece);
+    }
+}
@@ -135,64 +135,41 @@ public class Board {
     }
 
     public Board applyMove(Move move) {
-        char[][] newGrid = new char[rows][cols];
+        Board newBoard = new Board(rows, cols);
+        newBoard.exitRow = this.exitRow;
+        newBoard.exitCol = this.exitCol;
+        newBoard.primaryVehicleId = this.primaryVehicleId;
         for (int i = 0; i < rows; i++) {
-            System.arraycopy(grid[i], 0, newGrid[i], 0, cols);
+            System.arraycopy(grid[i], 0, newBoard.grid[i], 0, cols);
         }
 
-        String[] newConfig = new String[rows];
-        for (int i = 0; i < rows; i++) {
-            newConfig[i] = new String(newGrid[i]);
-        }
+        // Salin piece tanpa parsing ulang grid; hanya piece yang digerakkan yang berubah
+        for (Piece old : pieces) {
+            Piece p = new Piece(old.id, old.isHorizontal, old.length, old.row, old.col);
+            newBoard.pieces.add(p);
+            if (old == primaryPiece) newBoard.primaryPiece = p;
+            if (p.id != move.pieceId) continue;
+
+            for (int i = 0; i < p.length; i++) {
+                int rr = p.isHorizontal ? p.row : p.row + i;
+                int cc = p.isHorizontal ? p.col + i : p.col;
+                if (newBoard.grid[rr][cc] != 'K') {
+                    newBoard.grid[rr][cc] = '.';
+                }
+            }
 
-        Board newBoard = new Board(newConfig);
-        newBoard.exitRow = this.exitRow;
-        newBoard.exitCol = this.exitCol;
+            if (move.isHorizontal()) {
+                p.col += move.delta();
+            } else {
+                p.row += move.delta();
+            }
 
-        for (Piece p : newBoard.pieces) {
-            if (p.id == move.pieceId) {
-                if (p.isHorizontal) {
-                    for (int i = 0; i < p.length; i++) {
-                        int rr = p.row;
-                        int cc = p.col + i;
-                        if (newBoard.grid[rr][cc] != 'K') {
-                            newBoard.grid[rr][cc] = '.';
-                        }
-                    }
-
-                    if (move.direction.equals("kiri")) {
-                        p.col -= move.amount;
-                    } else if (move.direction.equals("kanan")) {
-                        p.col += move.amount;
-                    }
-
-                    for (int i = 0; i < p.length; i++) {
-                        if (newBoard.grid[p.row][p.col + i] != 'K') {
-                            newBoard.grid[p.row][p.col + i] = p.id;
-                        }
-                    }
-                } else {
-                    for (int i = 0; i < p.length; i++) {
-                        int rr = p.row + i;
-                        int cc = p.col;
-                        if (newBoard.grid[rr][cc] != 'K') {
-                            newBoard.grid[rr][cc] = '.';
-                        }
-                    }
-
-                    if (move.direction.equals("atas")) {
-                        p.row -= move.amount;
-                    } else if (move.direction.equals("bawah")) {
-                        p.row += move.amount;
-                    }
-
-                    for (int i = 0; i < p.length; i++) {
-                        if (newBoard.grid[p.row + i][p.col] != 'K') {
-                            newBoard.grid[p.row + i][p.col] = p.id;
-                        }
-                    }
+            for (int i = 0; i < p.length; i++) {
+                int rr = p.isHorizontal ? p.row : p.row + i;
+                int cc = p.isHorizontal ? p.col + i : p.col;
+                if (newBoard.grid[rr][cc] != 'K') {
+                    newBoard.grid[rr][cc] = p.id;
                 }
-                break;
             }
         }
 
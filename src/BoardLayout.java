@@ -0,0 +1,238 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Deskripsi papan yang tidak berubah selama pencarian: ukuran, pintu keluar,
+ * serta orientasi, panjang, dan jalur tetap (baris/kolom) setiap piece.
+ * Satu instance dipakai bersama oleh semua CompactBoard hasil pencarian.
+ */
+public final class BoardLayout {
+    public final int rows, cols;
+    public final int exitRow, exitCol;
+    public final int pieceCount;
+    public final int primaryIndex;
+
+    private final char[] ids;
+    private final boolean[] horizontal;
+    private final int[] length;
+    private final int[] lane;       // baris untuk piece horizontal, kolom untuk piece vertikal
+    private final int[] indexById;
+    private final long[][] zobrist;  // nilai acak per (piece, posisi) untuk hashing Zobrist
+    private final int[] mirror;      // pasangan tiap piece di bawah pencerminan, null jika papan tidak simetris
+    // Pemetaan piece pola ke layout ini, diisi PatternDatabase; per layout agar thread yang
+    // mencari papan berbeda tidak saling menimpa satu cache bersama
+    volatile PatternDatabase.Mapping patternMapping;
+
+    // Seed tetap agar kunci state sama di setiap run (memudahkan debugging)
+    private static final long ZOBRIST_SEED = 0x5DEECE66DL;
+    // Satu jalur harus muat dalam satu long bersama bit dinding (lihat MoveGenerator)
+    public static final int MAX_DIMENSION = 63;
+
+    private BoardLayout(Board board) {
+        if (board.rows > MAX_DIMENSION || board.cols > MAX_DIMENSION) {
+            throw new IllegalArgumentException("Board too large for compact state: " + board.rows + "x" + board.cols);
+        }
+        this.rows = board.rows;
+        this.cols = board.cols;
+        this.exitRow = board.exitRow;
+        this.exitCol = board.exitCol;
+        this.pieceCount = board.pieces.size();
+        this.ids = new char[pieceCount];
+        this.horizontal = new boolean[pieceCount];
+        this.length = new int[pieceCount];
+        this.lane = new int[pieceCount];
+
+        int primary = -1;
+        char maxId = 0;
+        for (int i = 0; i < pieceCount; i++) {
+            Piece p = board.pieces.get(i);
+            ids[i] = p.id;
+            horizontal[i] = p.isHorizontal;
+            length[i] = p.length;
+            lane[i] = p.isHorizontal ? p.row : p.col;
+            if (p == board.primaryPiece) primary = i;
+            if (p.id > maxId) maxId = p.id;
+        }
+        this.primaryIndex = primary;
+
+        this.indexById = new int[maxId + 1];
+        Arrays.fill(indexById, -1);
+        for (int i = 0; i < pieceCount; i++) {
+            indexById[ids[i]] = i;
+        }
+
+        this.mirror = mirrorOf(board);
+
+        SplittableRandom random = new SplittableRandom(ZOBRIST_SEED);
+        this.zobrist = new long[pieceCount][];
+        for (int i = 0; i < pieceCount; i++) {
+            zobrist[i] = new long[laneSize(i)];
+            for (int j = 0; j < zobrist[i].length; j++) {
+                zobrist[i][j] = random.nextLong();
+            }
+        }
+    }
+
+    /**
+     * Pencerminan yang mempertahankan pintu keluar: jika pintu keluar tepat di
+     * jalur tengah (baris tengah untuk primary horizontal, kolom tengah untuk
+     * primary vertikal), papan dicerminkan terhadap jalur itu. Piece yang sejajar
+     * primary pindah ke jalur cermin dengan posisi sama, piece yang tegak lurus
+     * tetap di jalurnya dengan posisi terbalik. Urutan piece di satu jalur tidak
+     * pernah berubah (piece tidak bisa saling melewati), jadi pasangan cermin
+     * ditentukan sekali dari urutan awal dan berlaku untuk semua state.
+     *
+     * Mengembalikan permutasi piece, atau null jika tata letak jalur tidak simetris.
+     */
+    private int[] mirrorOf(Board board) {
+        if (primaryIndex < 0 || exitRow < 0 || exitCol < 0) return null;
+        boolean axis = horizontal[primaryIndex];
+        int laneCount = axis ? rows : cols;
+        if (lane[primaryIndex] * 2 != laneCount - 1) return null;
+        if (axis ? exitCol != cols : exitRow != rows) return null;
+
+        // Piece per jalur (sejajar dan tegak lurus terpisah), urut menurut posisi awal
+        byte[] pos = positionsOf(board);
+        Integer[] order = new Integer[pieceCount];
+        for (int i = 0; i < pieceCount; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Integer.compare(pos[a], pos[b]));
+        Map<Integer, List<Integer>> lanes = new HashMap<>();
+        for (int i : order) {
+            int laneKey = (horizontal[i] == axis ? 0 : MAX_DIMENSION + 1) + lane[i];
+            lanes.computeIfAbsent(laneKey, k -> new ArrayList<>()).add(i);
+        }
+
+        int[] result = new int[pieceCount];
+        for (Map.Entry<Integer, List<Integer>> e : lanes.entrySet()) {
+            List<Integer> pieces = e.getValue();
+            int laneKey = e.getKey();
+            boolean parallel = laneKey <= MAX_DIMENSION;
+            // Sejajar: jalur cermin, urutan sama; tegak lurus: jalur sama, urutan terbalik
+            List<Integer> partner = parallel ? lanes.get(laneCount - 1 - laneKey) : pieces;
+            if (partner == null || partner.size() != pieces.size()) return null;
+            for (int k = 0; k < pieces.size(); k++) {
+                int i = pieces.get(k);
+                int j = partner.get(parallel ? k : pieces.size() - 1 - k);
+                if (length[i] != length[j]) return null;
+                result[i] = j;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * True jika papan punya pencerminan yang mempertahankan pintu keluar, sehingga
+     * setiap state dan cerminnya berjarak sama ke goal.
+     */
+    public boolean isSymmetric() {
+        return mirror != null;
+    }
+
+    /**
+     * Kunci Zobrist dari cermin state pos (hanya valid jika isSymmetric).
+     */
+    public long mirrorKey(byte[] pos) {
+        long key = 0;
+        for (int i = 0; i < pieceCount; i++) {
+            key ^= mirrorZobrist(i, pos[i]);
+        }
+        return key;
+    }
+
+    /**
+     * Kontribusi piece di posisi position pada kunci cermin: nilai Zobrist
+     * pasangan cerminnya di posisi cermin.
+     */
+    public long mirrorZobrist(int piece, int position) {
+        return zobrist[mirror[piece]][mirrorPosition(piece, position)];
+    }
+
+    /**
+     * Posisi cermin untuk piece di posisi position (piece tegak lurus primary dibalik).
+     */
+    public int mirrorPosition(int piece, int position) {
+        return horizontal[piece] == horizontal[primaryIndex] ? position : laneSize(piece) - length[piece] - position;
+    }
+
+    public int mirrorPiece(int piece) {
+        return mirror[piece];
+    }
+
+    public static BoardLayout of(Board board) {
+        return new BoardLayout(board);
+    }
+
+    /**
+     * Posisi setiap piece di sepanjang jalurnya: kolom untuk piece horizontal,
+     * baris untuk piece vertikal.
+     */
+    public byte[] positionsOf(Board board) {
+        byte[] pos = new byte[pieceCount];
+        for (int i = 0; i < pieceCount; i++) {
+            Piece p = board.pieces.get(i);
+            pos[i] = (byte) (p.isHorizontal ? p.col : p.row);
+        }
+        return pos;
+    }
+
+    public char id(int piece) {
+        return ids[piece];
+    }
+
+    public boolean isHorizontal(int piece) {
+        return horizontal[piece];
+    }
+
+    public int length(int piece) {
+        return length[piece];
+    }
+
+    public int lane(int piece) {
+        return lane[piece];
+    }
+
+    public int indexOf(char id) {
+        return id < indexById.length ? indexById[id] : -1;
+    }
+
+    /**
+     * Panjang jalur tempat piece bergerak (jumlah kolom atau jumlah baris).
+     */
+    public int laneSize(int piece) {
+        return horizontal[piece] ? cols : rows;
+    }
+
+    public long zobrist(int piece, int position) {
+        return zobrist[piece][position];
+    }
+
+    public long zobristKey(byte[] pos) {
+        long key = 0;
+        for (int i = 0; i < pieceCount; i++) {
+            key ^= zobrist[i][pos[i]];
+        }
+        return key;
+    }
+
+    public Board toBoard(byte[] pos) {
+        Board board = new Board(rows, cols);
+        board.exitRow = exitRow;
+        board.exitCol = exitCol;
+        board.primaryVehicleId = 'P';
+        for (int i = 0; i < pieceCount; i++) {
+            int row = horizontal[i] ? lane[i] : pos[i];
+            int col = horizontal[i] ? pos[i] : lane[i];
+            Piece p = new Piece(ids[i], horizontal[i], length[i], row, col);
+            board.pieces.add(p);
+            if (i == primaryIndex) board.primaryPiece = p;
+            for (int k = 0; k < length[i]; k++) {
+                board.grid[horizontal[i] ? row : row + k][horizontal[i] ? col + k : col] = ids[i];
+            }
+        }
+        return board;
+    }
+}
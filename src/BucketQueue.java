@@ -0,0 +1,133 @@
+import java.util.Arrays;
+
+/**
+ * Antrian prioritas untuk prioritas integer kecil (f, g, atau h). Setiap
+ * prioritas punya bucket sendiri, dan setiap bucket dibagi lagi per nilai
+ * pemutus seri (tie, biasanya g) yang juga integer kecil. Untuk A* tie yang
+ * lebih besar keluar dulu (g terbesar, paling dekat ke goal); untuk GBFS tie
+ * yang lebih kecil keluar dulu (jalur terpendek ke state dengan h yang sama),
+ * agar GBFS tidak berubah menjadi DFS. Di dalam tie yang sama elemen terakhir
+ * yang masuk keluar lebih dulu (LIFO). Insert dan pop-min O(1) amortized
+ * tanpa comparator.
+ */
+public class BucketQueue<T> {
+    // Di atas batas ini kapasitas bucket (kelipatan dua) akan overflow
+    private static final int MAX_PRIORITY = (1 << 30) - 1;
+
+    private final boolean largerTieFirst;
+    private Bucket[] buckets = new Bucket[64];
+    private int min;   // tidak ada bucket tidak kosong di bawah indeks ini
+    private int size;
+
+    /**
+     * Bucket untuk satu prioritas: satu stack per nilai tie.
+     */
+    private static final class Bucket {
+        Object[][] stacks = new Object[8][];
+        int[] counts = new int[8];
+        int best;   // tie terbaik yang mungkin tidak kosong; valid jika size > 0
+        int size;
+    }
+
+    /**
+     * Antrian dengan tie yang lebih kecil keluar dulu.
+     */
+    public BucketQueue() {
+        this(false);
+    }
+
+    /**
+     * @param largerTieFirst true jika di dalam prioritas yang sama tie terbesar keluar dulu
+     */
+    public BucketQueue(boolean largerTieFirst) {
+        this.largerTieFirst = largerTieFirst;
+    }
+
+    /**
+     * Menambah elemen tanpa pemutus seri: LIFO di dalam prioritas yang sama.
+     */
+    public void add(int priority, T item) {
+        add(priority, 0, item);
+    }
+
+    public void add(int priority, int tie, T item) {
+        if (priority < 0 || priority > MAX_PRIORITY) {
+            throw new IllegalArgumentException("Prioritas di luar rentang 0.." + MAX_PRIORITY + ": " + priority);
+        }
+        if (tie < 0 || tie > MAX_PRIORITY) {
+            throw new IllegalArgumentException("Tie di luar rentang 0.." + MAX_PRIORITY + ": " + tie);
+        }
+        if (priority >= buckets.length) buckets = Arrays.copyOf(buckets, capacityFor(buckets.length, priority));
+        Bucket b = buckets[priority];
+        if (b == null) b = buckets[priority] = new Bucket();
+        if (tie >= b.stacks.length) {
+            int capacity = capacityFor(b.stacks.length, tie);
+            b.stacks = Arrays.copyOf(b.stacks, capacity);
+            b.counts = Arrays.copyOf(b.counts, capacity);
+        }
+
+        Object[] stack = b.stacks[tie];
+        int count = b.counts[tie];
+        if (stack == null) {
+            stack = b.stacks[tie] = new Object[16];
+        } else if (count == stack.length) {
+            stack = b.stacks[tie] = Arrays.copyOf(stack, count * 2);
+        }
+        stack[count] = item;
+        b.counts[tie] = count + 1;
+        if (b.size == 0 || (largerTieFirst ? tie > b.best : tie < b.best)) b.best = tie;
+        b.size++;
+        if (priority < min) min = priority;
+        size++;
+    }
+
+    /**
+     * Mengambil elemen dengan prioritas terkecil, atau null jika kosong.
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        if (size == 0) return null;
+        Bucket b = buckets[minPriority()];
+        int tie = bestTie(b);
+        int count = --b.counts[tie];
+        T item = (T) b.stacks[tie][count];
+        b.stacks[tie][count] = null;
+        b.size--;
+        size--;
+        return item;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        if (size == 0) return null;
+        Bucket b = buckets[minPriority()];
+        int tie = bestTie(b);
+        return (T) b.stacks[tie][b.counts[tie] - 1];
+    }
+
+    /**
+     * Prioritas elemen terkecil; hanya valid jika antrian tidak kosong.
+     */
+    public int minPriority() {
+        while (buckets[min] == null || buckets[min].size == 0) min++;
+        return min;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int bestTie(Bucket b) {
+        while (b.counts[b.best] == 0) b.best += largerTieFirst ? -1 : 1;
+        return b.best;
+    }
+
+    private static int capacityFor(int capacity, int index) {
+        while (capacity <= index) capacity *= 2;
+        return capacity;
+    }
+}
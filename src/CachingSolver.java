@@ -0,0 +1,76 @@
+import java.util.Set;
+
+/**
+ * Solver pembungkus yang memeriksa SolutionCache sebelum menjalankan solver
+ * aslinya, dan menyimpan solusi yang ditemukan. Hit cache dilaporkan dengan
+ * visitedCount 0.
+ */
+public class CachingSolver extends Solver {
+    // Algoritma yang solusinya optimal (dalam jumlah sel), sehingga sufiks jalurnya boleh disimpan.
+    // IDA* membatasi f dalam jumlah langkah dan SMA* bisa menyerah pada batas node, jadi keduanya tidak termasuk.
+    private static final Set<String> OPTIMAL = Set.of(
+            "ucs", "a*", "astar", "biucs", "bia*", "biastar", "hda*", "hdastar",
+            "ext-ucs", "ext-a*", "extastar");
+
+    private final Solver delegate;
+    private final SolutionCache cache;
+    private final String solverId;
+    private final boolean optimal;
+    private boolean cacheHit;
+
+    public CachingSolver(Solver delegate, SolutionCache cache, String algo, String heuristic) {
+        super(delegate.startBoard);
+        this.delegate = delegate;
+        this.cache = cache;
+        String name = algo.toLowerCase();
+        // UCS tidak memakai heuristic, jadi semua pilihan heuristic berbagi entri
+        this.solverId = name.equals("ucs") || name.equals("biucs") || name.equals("ext-ucs") ? name : name + "/" + heuristic;
+        this.optimal = OPTIMAL.contains(name);
+    }
+
+    @Override
+    public void solve() {
+        long start = System.currentTimeMillis();
+        cacheHit = false;
+        solutionPath = cache.get(startBoard, solverId);
+        if (solutionPath != null) {
+            cacheHit = true;
+            visitedCount = 0;
+            frontierSize = 0;
+            bestBound = 0;
+            executionTimeMs = System.currentTimeMillis() - start;
+            return;
+        }
+
+        // Budget dan token yang sedang aktif diteruskan ke solver asli
+        SolveResult result = delegate.solve(budget, token);
+        solutionPath = result.path;
+        visitedCount = result.expanded;
+        frontierSize = result.frontierSize;
+        bestBound = result.bestBound;
+        stopReason = delegate.getStopReason();
+        metrics.merge(delegate.getMetrics());
+        executionTimeMs = System.currentTimeMillis() - start;
+        if (result.isSolved()) {
+            if (delegate instanceof ARAStar ara) {
+                // Solusi anytime yang terpotong budget bisa jauh dari optimal; hanya yang terbukti optimal disimpan
+                if (ara.getBound() == 1.0) cache.put(startBoard, solverId, solutionPath, true);
+            } else {
+                cache.put(startBoard, solverId, solutionPath, optimal);
+            }
+        }
+    }
+
+    @Override
+    public void setProgressListener(ProgressListener listener) {
+        super.setProgressListener(listener);
+        delegate.setProgressListener(listener);
+    }
+
+    /**
+     * True jika solve() terakhir dijawab dari cache.
+     */
+    public boolean isCacheHit() {
+        return cacheHit;
+    }
+}
@@ -0,0 +1,22 @@
+/**
+ * Penanda pembatalan yang bisa dipicu dari thread lain (misalnya tombol
+ * Cancel di GUI atau batch yang dihentikan). Solver memeriksanya secara berkala.
+ */
+public class CancellationToken {
+    public static final CancellationToken NONE = new CancellationToken() {
+        @Override
+        public void cancel() {
+            throw new UnsupportedOperationException("Token NONE tidak bisa dibatalkan");
+        }
+    };
+
+    private volatile boolean cancelled;
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,205 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bentuk kanonik sebuah Board, sehingga puzzle yang hanya berbeda huruf
+ * kendaraan atau berupa pencerminan/transposisi satu sama lain mendapat kunci
+ * yang sama.
+ *
+ * Normalisasinya:
+ * - pintu keluar bawah ditransposisi menjadi pintu keluar kanan;
+ * - papan dicerminkan (atas-bawah) jika itu mendekatkan baris pintu keluar ke
+ *   baris 0; jika pintu keluar tepat di tengah, dipilih yang encoding-nya lebih kecil;
+ * - piece diberi label ulang menurut geometri (orientasi, jalur, urutan di jalur),
+ *   primary selalu 'P'.
+ * Pintu keluar kiri/atas tidak bisa diselesaikan solver, jadi papan seperti itu
+ * hanya diberi label ulang.
+ *
+ * Label ulang hanya bergantung pada jalur dan urutan di jalur, yang tidak berubah
+ * selama pencarian, jadi semua state di satu jalur solusi berbagi pemetaan yang
+ * sama selama transformasinya sama.
+ */
+public final class CanonicalBoard {
+    public final Board board;      // papan kanonik
+    public final long key;
+    public final int transform;    // bit 0: transposisi, bit 1: cermin atas-bawah
+
+    private final Map<Character, Character> toCanonical = new HashMap<>();
+    private final Map<Character, Character> toOriginal = new HashMap<>();
+    private final int[] encoding;  // geometri kanonik, untuk memilih di antara dua cermin
+
+    private static final int TRANSPOSE = 1;
+    private static final int FLIP = 2;
+
+    private CanonicalBoard(Board board, long key, int transform, int[] encoding, List<Piece> originals, List<Piece> canonicals) {
+        this.board = board;
+        this.key = key;
+        this.transform = transform;
+        this.encoding = encoding;
+        for (int i = 0; i < originals.size(); i++) {
+            toCanonical.put(originals.get(i).id, canonicals.get(i).id);
+            toOriginal.put(canonicals.get(i).id, originals.get(i).id);
+        }
+    }
+
+    public static CanonicalBoard of(Board board) {
+        int transpose = board.exitRow == board.rows && board.exitCol >= 0 && board.exitCol < board.cols ? TRANSPOSE : 0;
+        boolean rightExit = transpose != 0
+                || (board.exitCol == board.cols && board.exitRow >= 0 && board.exitRow < board.rows);
+        if (!rightExit) return build(board, 0);
+
+        int rows = transpose != 0 ? board.cols : board.rows;
+        int exitRow = transpose != 0 ? board.exitCol : board.exitRow;
+        int mirrored = rows - 1 - exitRow;
+        if (exitRow < mirrored) return build(board, transpose);
+        if (exitRow > mirrored) return build(board, transpose | FLIP);
+        // Pintu keluar di tengah: kedua arah sah, pilih encoding terkecil
+        CanonicalBoard plain = build(board, transpose);
+        CanonicalBoard flipped = build(board, transpose | FLIP);
+        return Arrays.compare(plain.encoding, flipped.encoding) <= 0 ? plain : flipped;
+    }
+
+    /**
+     * Salinan geometri kanonik lengkap. Dua papan dengan encoding sama adalah
+     * state yang sama; key 64-bit saja bisa bertabrakan.
+     */
+    public int[] encoding() {
+        return encoding.clone();
+    }
+
+    private static CanonicalBoard build(Board board, int transform) {
+        boolean transpose = (transform & TRANSPOSE) != 0;
+        boolean flip = (transform & FLIP) != 0;
+        int rows = transpose ? board.cols : board.rows;
+        int cols = transpose ? board.rows : board.cols;
+        int exitRow = transpose ? board.exitCol : board.exitRow;
+        int exitCol = transpose ? board.exitRow : board.exitCol;
+        if (flip) exitRow = rows - 1 - exitRow;
+
+        // Geometri setiap piece di bingkai kanonik, label sementara tetap id asli
+        List<Piece> originals = new ArrayList<>(board.pieces);
+        List<Piece> moved = new ArrayList<>(originals.size());
+        for (Piece p : originals) {
+            boolean horizontal = p.isHorizontal != transpose;
+            int row = transpose ? p.col : p.row;
+            int col = transpose ? p.row : p.col;
+            if (flip) row = rows - 1 - (horizontal ? row : row + p.length - 1);
+            moved.add(new Piece(p.id, horizontal, p.length, row, col));
+        }
+
+        // Urutan kanonik: horizontal dulu, lalu jalur, lalu posisi di jalur
+        Integer[] order = new Integer[originals.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> {
+            Piece x = moved.get(a), y = moved.get(b);
+            if (x.isHorizontal != y.isHorizontal) return x.isHorizontal ? -1 : 1;
+            int laneX = x.isHorizontal ? x.row : x.col, laneY = y.isHorizontal ? y.row : y.col;
+            if (laneX != laneY) return Integer.compare(laneX, laneY);
+            return Integer.compare(x.isHorizontal ? x.col : x.row, y.isHorizontal ? y.col : y.row);
+        });
+
+        Board canonical = new Board(rows, cols);
+        canonical.exitRow = exitRow;
+        canonical.exitCol = exitCol;
+        canonical.primaryVehicleId = 'P';
+        List<Piece> orderedOriginals = new ArrayList<>(order.length);
+        int[] encoding = new int[3 + order.length * 5];
+        encoding[0] = rows;
+        encoding[1] = cols;
+        encoding[2] = exitRow;
+        int nextLabel = 0;
+        for (int k = 0; k < order.length; k++) {
+            Piece original = originals.get(order[k]);
+            Piece m = moved.get(order[k]);
+            boolean primary = original == board.primaryPiece;
+            char id = primary ? 'P' : label(nextLabel++);
+            Piece p = new Piece(id, m.isHorizontal, m.length, m.row, m.col);
+            canonical.pieces.add(p);
+            if (primary) canonical.primaryPiece = p;
+            for (int c = 0; c < p.length; c++) {
+                canonical.grid[p.isHorizontal ? p.row : p.row + c][p.isHorizontal ? p.col + c : p.col] = id;
+            }
+            orderedOriginals.add(original);
+            int base = 3 + k * 5;
+            encoding[base] = p.isHorizontal ? 0 : 1;
+            encoding[base + 1] = p.row;
+            encoding[base + 2] = p.col;
+            encoding[base + 3] = p.length;
+            encoding[base + 4] = primary ? 1 : 0;
+        }
+
+        long h = 0x2545F4914F6CDD1DL;
+        for (int v : encoding) {
+            h = mix(h ^ v);
+        }
+        return new CanonicalBoard(canonical, h, transform, encoding, orderedOriginals, canonical.pieces);
+    }
+
+    /**
+     * Label ke-n untuk piece selain primary: huruf besar, huruf kecil, lalu angka,
+     * tanpa 'P' (primary) dan 'K' (pintu keluar).
+     */
+    private static char label(int n) {
+        String labels = "ABCDEFGHIJLMNOQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+        return n < labels.length() ? labels.charAt(n) : (char) (0x100 + n);
+    }
+
+    private static long mix(long x) {
+        x *= 0x9E3779B97F4A7C15L;
+        x ^= x >>> 32;
+        x *= 0xD6E8FEB86659FD93L;
+        return x ^ (x >>> 32);
+    }
+
+    /**
+     * Gerakan di papan asli sebagai gerakan di papan kanonik.
+     */
+    public Move toCanonical(Move move) {
+        String direction = move.direction;
+        if ((transform & TRANSPOSE) != 0) direction = transpose(direction);
+        if ((transform & FLIP) != 0) direction = flip(direction);
+        return new Move(toCanonical.get(move.pieceId), direction, move.amount);
+    }
+
+    /**
+     * Gerakan di papan kanonik sebagai gerakan di papan asli (label asli).
+     */
+    public Move toOriginal(Move move) {
+        String direction = move.direction;
+        if ((transform & FLIP) != 0) direction = flip(direction);
+        if ((transform & TRANSPOSE) != 0) direction = transpose(direction);
+        return new Move(toOriginal.get(move.pieceId), direction, move.amount);
+    }
+
+    public List<Move> toCanonical(List<Move> path) {
+        List<Move> result = new ArrayList<>(path.size());
+        for (Move m : path) result.add(toCanonical(m));
+        return result;
+    }
+
+    public List<Move> toOriginal(List<Move> path) {
+        List<Move> result = new ArrayList<>(path.size());
+        for (Move m : path) result.add(toOriginal(m));
+        return result;
+    }
+
+    private static String transpose(String direction) {
+        return switch (direction) {
+            case "kiri" -> "atas";
+            case "kanan" -> "bawah";
+            case "atas" -> "kiri";
+            default -> "kanan";
+        };
+    }
+
+    private static String flip(String direction) {
+        return switch (direction) {
+            case "atas" -> "bawah";
+            case "bawah" -> "atas";
+            default -> direction;
+        };
+    }
+}
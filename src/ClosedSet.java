@@ -0,0 +1,59 @@
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Closed set untuk pencarian yang menyimpan kunci Zobrist 64-bit.
+ * Jika VERIFY_COLLISIONS aktif, posisi lengkap tiap kunci ikut disimpan
+ * sehingga dua state berbeda dengan kunci sama langsung terdeteksi.
+ * Mode ini hanya untuk pengujian karena memakai memori jauh lebih besar.
+ *
+ * Dengan canonical = true, state dan cerminnya (lihat CompactBoard.canonicalKey)
+ * dianggap state yang sama.
+ */
+public class ClosedSet {
+    public static boolean VERIFY_COLLISIONS = Boolean.getBoolean("rushhour.verifyHash");
+
+    private final LongHashSet keys = new LongHashSet();
+    private final Map<Long, String> positions = VERIFY_COLLISIONS ? new HashMap<>() : null;
+    private final boolean canonical;
+
+    public ClosedSet() {
+        this(false);
+    }
+
+    public ClosedSet(boolean canonical) {
+        this.canonical = canonical;
+    }
+
+    private long keyOf(CompactBoard board) {
+        return canonical ? board.canonicalKey() : board.key();
+    }
+
+    /**
+     * Menandai state sebagai sudah dikunjungi; mengembalikan false jika sudah ada.
+     */
+    public boolean add(CompactBoard board) {
+        long key = keyOf(board);
+        boolean added = keys.add(key);
+        if (positions != null) {
+            String current = canonical ? board.canonicalPositionKey() : board.positionKey();
+            String previous = positions.putIfAbsent(key, current);
+            if (previous != null && !previous.equals(current)) {
+                throw new IllegalStateException("Zobrist collision on key " + Long.toHexString(key));
+            }
+        }
+        return added;
+    }
+
+    public boolean contains(CompactBoard board) {
+        return keys.contains(keyOf(board));
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    public long memoryBytes() {
+        return keys.memoryBytes();
+    }
+}
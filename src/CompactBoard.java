@@ -0,0 +1,134 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Representasi papan yang ringkas untuk pencarian: hanya menyimpan satu byte
+ * posisi per piece, sedangkan bentuk papan dibagi lewat BoardLayout.
+ * Successor dibuat dengan mengubah satu koordinat saja.
+ */
+public final class CompactBoard {
+    public final BoardLayout layout;
+    private final byte[] pos;
+    private final long key;
+    private final long mirrorKey;  // kunci cermin, hanya dipakai jika layout.isSymmetric()
+
+    public CompactBoard(BoardLayout layout, byte[] pos) {
+        this(layout, pos, layout.zobristKey(pos), layout.isSymmetric() ? layout.mirrorKey(pos) : 0);
+    }
+
+    private CompactBoard(BoardLayout layout, byte[] pos, long key, long mirrorKey) {
+        this.layout = layout;
+        this.pos = pos;
+        this.key = key;
+        this.mirrorKey = mirrorKey;
+    }
+
+    public static CompactBoard of(Board board) {
+        BoardLayout layout = BoardLayout.of(board);
+        return new CompactBoard(layout, layout.positionsOf(board));
+    }
+
+    public int position(int piece) {
+        return pos[piece];
+    }
+
+    /**
+     * Array posisi internal (jangan diubah; CompactBoard bersifat immutable).
+     */
+    byte[] positions() {
+        return pos;
+    }
+
+    public boolean isGoal() {
+        int p = layout.primaryIndex;
+        if (p < 0) return false;
+        if (layout.exitRow < 0 || layout.exitCol < 0) return false;
+
+        int tail = pos[p] + layout.length(p);
+        if (layout.isHorizontal(p)) {
+            return layout.lane(p) == layout.exitRow && tail == layout.exitCol;
+        } else {
+            return layout.lane(p) == layout.exitCol && tail == layout.exitRow;
+        }
+    }
+
+    /**
+     * Versi daftar objek dari MoveGenerator; loop pencarian sebaiknya memakai
+     * MoveGenerator langsung agar tidak mengalokasikan Move.
+     */
+    public List<Move> getPossibleMoves() {
+        MoveGenerator generator = new MoveGenerator(layout);
+        int count = generator.generate(this);
+        List<Move> moves = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            moves.add(Move.of(layout, generator.move(i)));
+        }
+        return moves;
+    }
+
+    public CompactBoard applyMove(Move move) {
+        return applyMove(layout.indexOf(move.pieceId), move.delta());
+    }
+
+    /**
+     * Menerapkan gerakan yang dikodekan dengan Move.encode.
+     */
+    public CompactBoard applyMove(int move) {
+        return applyMove(Move.piece(move), Move.delta(move));
+    }
+
+    private CompactBoard applyMove(int piece, int delta) {
+        byte[] next = pos.clone();
+        next[piece] += delta;
+        // Kunci Zobrist diperbarui secara inkremental: keluarkan posisi lama, masukkan posisi baru
+        long nextKey = key ^ layout.zobrist(piece, pos[piece]) ^ layout.zobrist(piece, next[piece]);
+        long nextMirror = layout.isSymmetric()
+                ? mirrorKey ^ layout.mirrorZobrist(piece, pos[piece]) ^ layout.mirrorZobrist(piece, next[piece])
+                : 0;
+        return new CompactBoard(layout, next, nextKey, nextMirror);
+    }
+
+    /**
+     * Kunci Zobrist 64-bit dari state ini.
+     */
+    public long key() {
+        return key;
+    }
+
+    /**
+     * Kunci yang sama untuk state dan cerminnya (lihat BoardLayout.isSymmetric).
+     * Keduanya berjarak sama ke goal, jadi closed set cukup menyimpan salah satunya.
+     * Untuk papan yang tidak simetris sama dengan key().
+     */
+    public long canonicalKey() {
+        return layout.isSymmetric() ? Math.min(key, mirrorKey) : key;
+    }
+
+    /**
+     * positionKey dari state yang dipilih canonicalKey (state ini atau cerminnya).
+     */
+    public String canonicalPositionKey() {
+        if (!layout.isSymmetric() || key <= mirrorKey) return positionKey();
+        char[] chars = new char[pos.length];
+        for (int i = 0; i < pos.length; i++) {
+            chars[layout.mirrorPiece(i)] = (char) layout.mirrorPosition(i, pos[i]);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Posisi lengkap sebagai String pendek (satu char per piece), dipakai untuk
+     * memverifikasi tabrakan kunci Zobrist.
+     */
+    public String positionKey() {
+        char[] chars = new char[pos.length];
+        for (int i = 0; i < pos.length; i++) {
+            chars[i] = (char) pos[i];
+        }
+        return new String(chars);
+    }
+
+    public Board toBoard() {
+        return layout.toBoard(pos);
+    }
+}
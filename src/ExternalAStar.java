@@ -0,0 +1,494 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * A* (atau UCS jika heuristicMode null) dengan frontier di disk, untuk papan
+ * yang ruang state-nya tidak muat di heap.
+ *
+ * State disimpan sebagai kode mixed-radix 8 byte (satu digit per piece) di
+ * file bucket per pasangan (g, h). Bucket diproses urut f lalu g; setiap
+ * bucket diurutkan dengan external sort (run terurut sebesar chunk memori,
+ * lalu k-way merge yang sekaligus membuang duplikat), kemudian dikurangi
+ * dengan merge terhadap semua bucket tertutup yang punya h sama dan g tidak
+ * lebih besar (delayed duplicate detection: h sebuah state selalu sama, jadi
+ * duplikatnya hanya mungkin ada di bucket dengan h sama). Sisanya ditulis
+ * sebagai run tertutup dan diekspansi; successor ditambahkan ke file bucket
+ * tujuannya lewat buffer NIO.
+ *
+ * Tidak ada pointer parent di memori. Jalur dibangun mundur dari goal: untuk
+ * state di g, salah satu tetangganya pasti ada di run tertutup g - biaya
+ * gerakan (yang membangkitkannya), dan run tertutup terurut sehingga bisa
+ * dicari dengan binary search.
+ */
+public class ExternalAStar extends Solver {
+    private static final int IO_BUFFER = 1 << 16;
+    private static final int RECORD = Long.BYTES;
+    private static final int DEFAULT_CHUNK = 1 << 20;  // 8 MB kode per run terurut
+
+    private final String heuristicMode;  // null berarti UCS
+    private final Path tempRoot;
+    private int chunkSize;
+
+    private BoardLayout layout;
+    private long[] radix;
+    private int heuristicCode;
+    private Path dir;
+    private int fileCounter;
+
+    // Bucket terbuka, diurutkan menurut (f, g)
+    private final TreeMap<Long, Bucket> open = new TreeMap<>();
+    // Run tertutup per nilai h
+    private final Map<Integer, List<Run>> closed = new HashMap<>();
+    private long openRecords;
+    private long closedRecords;
+
+    public ExternalAStar(Board board, String heuristicMode) {
+        this(board, heuristicMode, null);
+    }
+
+    /**
+     * @param tempRoot direktori untuk file bucket, null untuk direktori temp sistem
+     */
+    public ExternalAStar(Board board, String heuristicMode, Path tempRoot) {
+        super(board);
+        this.heuristicMode = heuristicMode;
+        this.tempRoot = tempRoot;
+    }
+
+    @Override
+    public void solve() {
+        long startTime = System.currentTimeMillis();
+        CompactBoard initial = CompactBoard.of(startBoard);
+        layout = initial.layout;
+        radix = radixOf(layout);
+        heuristicCode = heuristicMode == null ? -1 : Heuristic.modeOf(heuristicMode);
+        // Chunk sort mengikuti budget memori (setengahnya), tetapi tidak lebih dari default
+        chunkSize = (int) Math.max(1 << 12, Math.min(DEFAULT_CHUNK, budget.maxMemoryBytes / 2 / RECORD));
+        open.clear();
+        closed.clear();
+        openRecords = closedRecords = 0;
+
+        try {
+            dir = tempRoot == null
+                    ? Files.createTempDirectory("rushhour-ext")
+                    : Files.createTempDirectory(tempRoot, "rushhour-ext");
+            try {
+                search(initial);
+            } finally {
+                for (Bucket b : open.values()) b.writer.close();
+                deleteAll(dir);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("External search gagal: " + e.getMessage(), e);
+        }
+
+        this.visitedCount = (int) Math.min(Integer.MAX_VALUE, metrics.expanded);
+        this.executionTimeMs = System.currentTimeMillis() - startTime;
+        if (solutionPath == null && stopReason == null) {
+            System.out.println("Tidak ada solusi ditemukan.");
+        }
+    }
+
+    private void search(CompactBoard initial) throws IOException {
+        byte[] pos = initial.positions().clone();
+        bucket(0, estimate(pos)).writer.write(encode(pos));
+        openRecords = 1;
+
+        long[] masks = new long[layout.rows + layout.cols];
+        int[] moves = new int[MoveGenerator.maxMoves(layout)];
+        long expanded = 0;
+
+        while (!open.isEmpty()) {
+            Bucket bucket = open.pollFirstEntry().getValue();
+            bucket.writer.close();
+            openRecords -= bucket.writer.count;
+            int f = bucket.g + bucket.h;
+
+            Path sorted = sortUnique(bucket.writer.path, bucket.writer.count);
+            Files.delete(bucket.writer.path);
+            Run run = subtractClosed(sorted, bucket.g, bucket.h);
+            closedRecords += run.count;
+            metrics.closed((int) Math.min(Integer.MAX_VALUE, closedRecords));
+
+            try (LongReader reader = new LongReader(run.path)) {
+                while (reader.next()) {
+                    long code = reader.value;
+                    decode(code, pos);
+                    expanded++;
+                    metrics.expand(f);
+                    if (isGoal(pos)) {
+                        solutionPath = reconstruct(code, bucket.g, pos, masks, moves);
+                        return;
+                    }
+                    if (shouldStop((int) Math.min(Integer.MAX_VALUE, expanded), (long) chunkSize * RECORD,
+                            (int) Math.min(Integer.MAX_VALUE, openRecords), f)) {
+                        return;
+                    }
+
+                    MoveGenerator.fillMasks(layout, pos, masks);
+                    int count = MoveGenerator.generate(layout, pos, masks, moves);
+                    metrics.generate(count);
+                    for (int i = 0; i < count; i++) {
+                        int piece = Move.piece(moves[i]);
+                        int delta = Move.delta(moves[i]);
+                        int from = pos[piece];
+                        pos[piece] += delta;
+                        long t = metrics.heuristicStart();
+                        int h = heuristicMode == null ? 0
+                                : Heuristic.estimate(layout, pos, heuristicCode, piece, from, bucket.h);
+                        metrics.heuristicEnd(t);
+                        pos[piece] = (byte) from;
+                        bucket(bucket.g + Move.amount(moves[i]), h).writer.write(code + delta * radix[piece]);
+                        openRecords++;
+                    }
+                    metrics.open((int) Math.min(Integer.MAX_VALUE, openRecords));
+                }
+            }
+        }
+    }
+
+    private int estimate(byte[] pos) {
+        return heuristicMode == null ? 0 : Heuristic.estimate(layout, pos, heuristicCode);
+    }
+
+    private Bucket bucket(int g, int h) throws IOException {
+        long key = ((long) (g + h) << 32) | g;
+        Bucket b = open.get(key);
+        if (b == null) {
+            b = new Bucket(g, h, new LongWriter(newFile("open-" + g + "-" + h)));
+            open.put(key, b);
+        }
+        return b;
+    }
+
+    private Path newFile(String name) {
+        return dir.resolve(name + "-" + (fileCounter++) + ".bin");
+    }
+
+    /**
+     * External sort dengan penghapusan duplikat: run terurut sebesar chunkSize,
+     * lalu k-way merge.
+     */
+    private Path sortUnique(Path input, long count) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        try (LongReader reader = new LongReader(input)) {
+            long[] chunk = new long[(int) Math.min(chunkSize, Math.max(1, count))];
+            int n = 0;
+            while (true) {
+                boolean more = reader.next();
+                if (more) chunk[n++] = reader.value;
+                if (n == chunk.length || (!more && n > 0)) {
+                    Arrays.sort(chunk, 0, n);
+                    Path run = newFile("run");
+                    try (LongWriter writer = new LongWriter(run)) {
+                        for (int i = 0; i < n; i++) {
+                            if (i == 0 || chunk[i] != chunk[i - 1]) writer.write(chunk[i]);
+                            else metrics.duplicate();
+                        }
+                    }
+                    runs.add(run);
+                    n = 0;
+                }
+                if (!more) break;
+            }
+        }
+        if (runs.size() == 1) return runs.get(0);
+
+        Path merged = newFile("sorted");
+        try (MergedReader in = new MergedReader(runs); LongWriter writer = new LongWriter(merged)) {
+            long last = -1;
+            while (in.next()) {
+                if (in.value == last) {
+                    metrics.duplicate();
+                    continue;
+                }
+                writer.write(in.value);
+                last = in.value;
+            }
+        }
+        for (Path run : runs) Files.delete(run);
+        return merged;
+    }
+
+    /**
+     * Membuang kode yang sudah ada di run tertutup dengan h sama dan g tidak
+     * lebih besar, lalu mendaftarkan sisanya sebagai run tertutup (g, h).
+     */
+    private Run subtractClosed(Path sorted, int g, int h) throws IOException {
+        List<Run> sameH = closed.computeIfAbsent(h, k -> new ArrayList<>());
+        List<Path> previous = new ArrayList<>();
+        for (Run r : sameH) {
+            if (r.g <= g) previous.add(r.path);
+        }
+        if (previous.isEmpty()) {
+            Run run = new Run(g, sorted, Files.size(sorted) / RECORD);
+            sameH.add(run);
+            return run;
+        }
+
+        Path result = newFile("closed-" + g + "-" + h);
+        long count = 0;
+        try (LongReader in = new LongReader(sorted);
+             MergedReader old = new MergedReader(previous);
+             LongWriter writer = new LongWriter(result)) {
+            boolean hasOld = old.next();
+            while (in.next()) {
+                while (hasOld && old.value < in.value) hasOld = old.next();
+                if (hasOld && old.value == in.value) {
+                    metrics.duplicate();
+                    continue;
+                }
+                writer.write(in.value);
+                count++;
+            }
+        }
+        Files.delete(sorted);
+        Run run = new Run(g, result, count);
+        sameH.add(run);
+        return run;
+    }
+
+    /**
+     * Menelusuri mundur dari goal: di setiap langkah cari tetangga yang ada di
+     * run tertutup dengan g = g sekarang - biaya gerakan.
+     */
+    private List<Move> reconstruct(long code, int g, byte[] pos, long[] masks, int[] moves) throws IOException {
+        List<Move> path = new ArrayList<>();
+        while (g > 0) {
+            decode(code, pos);
+            MoveGenerator.fillMasks(layout, pos, masks);
+            int count = MoveGenerator.generate(layout, pos, masks, moves);
+            // Dari semua tetangga yang valid, ambil gerakan terjauh agar jumlah langkah sedikit
+            int best = -1;
+            long bestParent = 0;
+            for (int i = 0; i < count; i++) {
+                int move = moves[i];
+                int piece = Move.piece(move);
+                int parentG = g - Move.amount(move);
+                if (parentG < 0 || (best >= 0 && Move.amount(move) <= Move.amount(best))) continue;
+                pos[piece] += Move.delta(move);
+                int parentH = estimate(pos);
+                pos[piece] -= Move.delta(move);
+                long parent = code + Move.delta(move) * radix[piece];
+                if (isClosed(parent, parentG, parentH)) {
+                    best = move;
+                    bestParent = parent;
+                }
+            }
+            if (best < 0) throw new IllegalStateException("Jalur tidak bisa direkonstruksi pada g=" + g);
+            path.add(Move.of(layout, Move.reverse(best)));
+            code = bestParent;
+            g -= Move.amount(best);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    private boolean isClosed(long code, int g, int h) throws IOException {
+        List<Run> runs = closed.get(h);
+        if (runs == null) return false;
+        for (Run run : runs) {
+            if (run.g == g && contains(run, code)) return true;
+        }
+        return false;
+    }
+
+    private static boolean contains(Run run, long code) throws IOException {
+        ByteBuffer one = ByteBuffer.allocate(RECORD);
+        try (FileChannel ch = FileChannel.open(run.path, StandardOpenOption.READ)) {
+            long lo = 0, hi = run.count - 1;
+            while (lo <= hi) {
+                long mid = (lo + hi) >>> 1;
+                one.clear();
+                ch.read(one, mid * RECORD);
+                long value = one.getLong(0);
+                if (value == code) return true;
+                if (value < code) lo = mid + 1;
+                else hi = mid - 1;
+            }
+        }
+        return false;
+    }
+
+    private boolean isGoal(byte[] pos) {
+        int p = layout.primaryIndex;
+        if (p < 0 || layout.exitRow < 0 || layout.exitCol < 0) return false;
+        int tail = pos[p] + layout.length(p);
+        return layout.isHorizontal(p)
+                ? layout.lane(p) == layout.exitRow && tail == layout.exitCol
+                : layout.lane(p) == layout.exitCol && tail == layout.exitRow;
+    }
+
+    /**
+     * Bobot mixed-radix per piece, sama seperti StateSpace.
+     */
+    private static long[] radixOf(BoardLayout layout) {
+        long[] radix = new long[layout.pieceCount];
+        long weight = 1;
+        for (int i = layout.pieceCount - 1; i >= 0; i--) {
+            radix[i] = weight;
+            int digits = layout.laneSize(i) - layout.length(i) + 1;
+            if (weight > Long.MAX_VALUE / digits) {
+                throw new IllegalArgumentException("Terlalu banyak piece untuk dikodekan dalam satu long.");
+            }
+            weight *= digits;
+        }
+        return radix;
+    }
+
+    private long encode(byte[] pos) {
+        long code = 0;
+        for (int i = 0; i < pos.length; i++) {
+            code += pos[i] * radix[i];
+        }
+        return code;
+    }
+
+    private void decode(long code, byte[] pos) {
+        for (int i = 0; i < pos.length; i++) {
+            pos[i] = (byte) (code / radix[i]);
+            code %= radix[i];
+        }
+    }
+
+    private static void deleteAll(Path dir) throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) Files.deleteIfExists(p);
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    private static final class Bucket {
+        final int g, h;
+        final LongWriter writer;
+
+        Bucket(int g, int h, LongWriter writer) {
+            this.g = g;
+            this.h = h;
+            this.writer = writer;
+        }
+    }
+
+    private static final class Run {
+        final int g;
+        final Path path;
+        final long count;
+
+        Run(int g, Path path, long count) {
+            this.g = g;
+            this.path = path;
+            this.count = count;
+        }
+    }
+
+    /**
+     * Penulis long berurutan lewat FileChannel dengan buffer direct.
+     */
+    private static final class LongWriter implements AutoCloseable {
+        final Path path;
+        long count;
+        private FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER);
+
+        LongWriter(Path path) throws IOException {
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        }
+
+        void write(long value) throws IOException {
+            if (!buffer.hasRemaining()) flush();
+            buffer.putLong(value);
+            count++;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (channel == null) return;
+            flush();
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Pembaca long berurutan; next() mengisi value dan mengembalikan false di akhir file.
+     */
+    private static final class LongReader implements AutoCloseable {
+        long value;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER);
+
+        LongReader(Path path) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            buffer.flip();
+        }
+
+        boolean next() throws IOException {
+            if (buffer.remaining() < RECORD) {
+                buffer.compact();
+                while (buffer.position() < RECORD && channel.read(buffer) > 0) {
+                    // baca sampai minimal satu record tersedia atau file habis
+                }
+                buffer.flip();
+                if (buffer.remaining() < RECORD) return false;
+            }
+            value = buffer.getLong();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Gabungan terurut beberapa file terurut (duplikat tidak dibuang di sini).
+     */
+    private static final class MergedReader implements AutoCloseable {
+        long value;
+        private final List<LongReader> readers = new ArrayList<>();
+        private final PriorityQueue<LongReader> heap =
+                new PriorityQueue<>((a, b) -> Long.compare(a.value, b.value));
+
+        MergedReader(List<Path> paths) throws IOException {
+            for (Path p : paths) {
+                LongReader r = new LongReader(p);
+                readers.add(r);
+                if (r.next()) heap.add(r);
+            }
+        }
+
+        boolean next() throws IOException {
+            LongReader top = heap.poll();
+            if (top == null) return false;
+            value = top.value;
+            if (top.next()) heap.add(top);
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (LongReader r : readers) r.close();
+        }
+    }
+}
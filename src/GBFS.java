@@ -12,50 +12,59 @@ public class GBFS extends Solver {
     public void solve() {
         long startTime = System.currentTimeMillis();
 
-        // Gunakan comparator yang lebih konkret untuk menghindari inconsistent ordering
-        PriorityQueue<State> pq = new PriorityQueue<>(
-            (a, b) -> {
-                if (a.heuristic != b.heuristic) {
-                    return Integer.compare(a.heuristic, b.heuristic);
-                }
-                // Tie-breaker untuk konsistensi
-                return Integer.compare(a.hashCode(), b.hashCode());
-            }
-        );
-        
-        Set<String> visited = new HashSet<>();
+        // Bucket per nilai heuristic; di dalam bucket yang sama jalur terpendek diambil dulu
+        BucketQueue<State> pq = new BucketQueue<>();
+
+        ClosedSet visited = new ClosedSet(true);
+        int heuristicCode = Heuristic.modeOf(heuristicMode);
+
+        CompactBoard initial = CompactBoard.of(startBoard);
+        MoveGenerator generator = new MoveGenerator(initial.layout);
 
-        State start = new State(startBoard, new ArrayList<>(), 0, Heuristic.estimate(startBoard, heuristicMode));
-        pq.add(start);
+        State start = new State(initial, null, 0, 0, Heuristic.estimate(initial, heuristicMode));
+        pq.add(start.heuristic, start.cost, start);
 
         int nodesVisited = 0;
+        long stateBytes = stateBytes(initial.layout);
 
         while (!pq.isEmpty()) {
             State current = pq.poll();
-            String currentHash = current.hash();
-            
-            if (visited.contains(currentHash)) continue;
-            visited.add(currentHash);
+            if (!visited.add(current.board)) {
+                metrics.duplicate();
+                continue;
+            }
             nodesVisited++;
+            metrics.expand(current.heuristic);
+            metrics.open(pq.size());
+            metrics.closed(visited.size());
 
             if (current.board.isGoal()) {
                 long endTime = System.currentTimeMillis();
-                this.solutionPath = current.path;
+                this.solutionPath = current.path();
                 this.visitedCount = nodesVisited;
                 this.executionTimeMs = endTime - startTime;
                 return;
             }
+            long memory = visited.memoryBytes() + (visited.size() + (long) pq.size()) * stateBytes;
+            if (shouldStop(nodesVisited, memory, pq.size(), current.heuristic)) break;
 
-            for (Move move : current.board.getPossibleMoves()) {
-                Board newBoard = current.board.applyMove(move);
-                List<Move> newPath = new ArrayList<>(current.path);
-                newPath.add(move);
-                int h = Heuristic.estimate(newBoard, heuristicMode);
-                pq.add(new State(newBoard, newPath, current.path.size() + 1, h));
+            int moveCount = generator.generate(current.board);
+            metrics.generate(moveCount);
+            for (int i = 0; i < moveCount; i++) {
+                int code = generator.move(i);
+                CompactBoard newBoard = current.board.applyMove(code);
+                long t = metrics.heuristicStart();
+                int h = Heuristic.estimate(newBoard, code, current.heuristic, heuristicCode);
+                metrics.heuristicEnd(t);
+                pq.add(h, current.depth + 1, new State(newBoard, current, code, current.depth + 1, h));
             }
         }
 
-        System.out.println("Tidak ada solusi ditemukan.");
+        this.visitedCount = nodesVisited;
+        this.executionTimeMs = System.currentTimeMillis() - startTime;
+        if (stopReason == null) {
+            System.out.println("Tidak ada solusi ditemukan.");
+        }
     }
 
     private void printPath(State finalState) {
@@ -63,7 +72,7 @@ public class GBFS extends Solver {
         startBoard.print();
         Board current = startBoard;
         int step = 1;
-        for (Move move : finalState.path) {
+        for (Move move : finalState.path()) {
             System.out.println("Gerakan " + step + ": " + move);
             current = current.applyMove(move);
             current.print();
@@ -1,4 +1,27 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 public class Heuristic {
+    public static final int MANHATTAN = 1;
+    public static final int EUCLIDEAN = 2;
+    public static final int CHEBYSHEV = 3;
+    public static final int BLOCKING = 4;
+    public static final int RECURSIVE_BLOCKING = 5;
+    // Mode "pdb:<file>" mendapat kode PATTERN_DATABASE + indeks database yang sudah dibuka
+    public static final int PATTERN_DATABASE = 100;
+
+    private static final List<PatternDatabase> DATABASES = new CopyOnWriteArrayList<>();
+    private static final Map<String, Integer> DATABASE_CODES = new ConcurrentHashMap<>();
+
+    // Buffer kerja per thread agar evaluasi blocking tidak mengalokasikan objek
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
     /**
      * Menghitung jarak Manhattan dari primary piece ke pintu keluar
      * Manhattan distance = |x1 - x2| + |y1 - y2|
@@ -6,15 +29,15 @@ public class Heuristic {
     public static int manhattanDistance(Board board) {
         Piece p = board.primaryPiece;
         if (p == null) return Integer.MAX_VALUE;
-        
+
         // Hitung posisi akhir primary piece
         int endRow = p.isHorizontal ? p.row : p.row + p.length - 1;
         int endCol = p.isHorizontal ? p.col + p.length - 1 : p.col;
-        
+
         // Hitung jarak Manhattan ke exit
-        return Math.abs(endRow - board.exitRow) + Math.abs(endCol - board.exitCol);
+        return manhattan(endRow, endCol, board.exitRow, board.exitCol);
     }
-    
+
     /**
      * Menghitung jarak Euclidean dari primary piece ke pintu keluar
      * Euclidean distance = sqrt((x1 - x2)^2 + (y1 - y2)^2)
@@ -22,17 +45,15 @@ public class Heuristic {
     public static int euclideanDistance(Board board) {
         Piece p = board.primaryPiece;
         if (p == null) return Integer.MAX_VALUE;
-        
+
         // Hitung posisi akhir primary piece
         int endRow = p.isHorizontal ? p.row : p.row + p.length - 1;
         int endCol = p.isHorizontal ? p.col + p.length - 1 : p.col;
-        
+
         // Hitung jarak Euclidean ke exit
-        double dx = endRow - board.exitRow;
-        double dy = endCol - board.exitCol;
-        return (int) Math.sqrt(dx * dx + dy * dy);
+        return euclidean(endRow, endCol, board.exitRow, board.exitCol);
     }
-    
+
     /**
      * Menghitung jarak Chebyshev dari primary piece ke pintu keluar
      * Chebyshev distance = max(|x1 - x2|, |y1 - y2|)
@@ -40,21 +61,278 @@ public class Heuristic {
     public static int chebyshevDistance(Board board) {
         Piece p = board.primaryPiece;
         if (p == null) return Integer.MAX_VALUE;
-        
+
         // Hitung posisi akhir primary piece
         int endRow = p.isHorizontal ? p.row : p.row + p.length - 1;
         int endCol = p.isHorizontal ? p.col + p.length - 1 : p.col;
-        
+
         // Hitung jarak Chebyshev ke exit
-        return Math.max(Math.abs(endRow - board.exitRow), Math.abs(endCol - board.exitCol));
+        return chebyshev(endRow, endCol, board.exitRow, board.exitCol);
     }
-    
+
     public static int estimate(Board board, String mode) {
+        if (mode.startsWith("pdb:")) return estimate(CompactBoard.of(board), mode);
         return switch (mode.toLowerCase()) {
             case "manhattan", "1" -> manhattanDistance(board);
             case "euclidean", "2" -> euclideanDistance(board);
             case "chebyshev", "3" -> chebyshevDistance(board);
+            case "blocking", "4", "recursive-blocking", "5" -> estimate(CompactBoard.of(board), mode);
             default -> manhattanDistance(board); // fallback ke Manhattan
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * Mengubah nama mode menjadi kode integer agar loop pencarian tidak perlu
+     * membandingkan String di setiap node.
+     */
+    public static int modeOf(String mode) {
+        if (mode.startsWith("pdb:")) return patternDatabaseMode(mode.substring(4));
+        return switch (mode.toLowerCase()) {
+            case "manhattan", "1" -> MANHATTAN;
+            case "euclidean", "2" -> EUCLIDEAN;
+            case "chebyshev", "3" -> CHEBYSHEV;
+            case "blocking", "4" -> BLOCKING;
+            case "recursive-blocking", "5" -> RECURSIVE_BLOCKING;
+            default -> MANHATTAN; // fallback ke Manhattan
+        };
+    }
+
+    /**
+     * True jika mode memberi nilai yang sama untuk state dan cerminnya
+     * (BoardLayout.isSymmetric). Pattern database tidak dijamin simetris karena
+     * piece polanya dipilih dari satu sisi papan.
+     */
+    public static boolean isSymmetric(int mode) {
+        return mode < PATTERN_DATABASE;
+    }
+
+    /**
+     * Membuka (memory-map) pattern database sekali per path dan mengembalikan kodenya.
+     */
+    private static int patternDatabaseMode(String path) {
+        return DATABASE_CODES.computeIfAbsent(path, p -> {
+            try {
+                DATABASES.add(PatternDatabase.open(Path.of(p)));
+                return PATTERN_DATABASE + DATABASES.size() - 1;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Gagal membuka pattern database " + p, e);
+            }
+        });
+    }
+
+    /**
+     * Versi estimate untuk CompactBoard, dipakai di dalam loop pencarian
+     * agar tidak perlu membangun Board.
+     */
+    public static int estimate(CompactBoard board, String mode) {
+        return estimate(board.layout, board.positions(), modeOf(mode));
+    }
+
+    /**
+     * Versi estimate yang bekerja langsung pada array posisi piece dengan kode
+     * mode dari modeOf. Tidak mengalokasikan objek.
+     */
+    public static int estimate(BoardLayout layout, byte[] pos, int mode) {
+        int p = layout.primaryIndex;
+        if (p < 0) return Integer.MAX_VALUE;
+        if (mode >= PATTERN_DATABASE) return DATABASES.get(mode - PATTERN_DATABASE).lookup(layout, pos);
+
+        // Hitung posisi akhir primary piece
+        int end = pos[p] + layout.length(p) - 1;
+        int endRow = layout.isHorizontal(p) ? layout.lane(p) : end;
+        int endCol = layout.isHorizontal(p) ? end : layout.lane(p);
+
+        return switch (mode) {
+            case EUCLIDEAN -> euclidean(endRow, endCol, layout.exitRow, layout.exitCol);
+            case CHEBYSHEV -> chebyshev(endRow, endCol, layout.exitRow, layout.exitCol);
+            case BLOCKING -> manhattan(endRow, endCol, layout.exitRow, layout.exitCol) + blockers(layout, pos, false);
+            case RECURSIVE_BLOCKING -> manhattan(endRow, endCol, layout.exitRow, layout.exitCol) + blockers(layout, pos, true);
+            default -> manhattan(endRow, endCol, layout.exitRow, layout.exitCol);
+        };
+    }
+
+    /**
+     * Estimate untuk child yang dihasilkan dengan menggeser satu piece dari
+     * posisi from. Untuk mode blocking, nilai parent dipakai ulang jika piece
+     * yang bergerak tidak bisa memengaruhi nilainya (lihat touchesZone). Untuk
+     * pattern database, nilai parent dipakai ulang jika piece tersebut bukan
+     * piece pola.
+     */
+    public static int estimate(BoardLayout layout, byte[] pos, int mode, int movedPiece, int from, int parentValue) {
+        if ((mode == BLOCKING || mode == RECURSIVE_BLOCKING)
+                && !touchesZone(layout, pos, movedPiece, from, mode == RECURSIVE_BLOCKING)) {
+            return parentValue;
+        }
+        if (mode >= PATTERN_DATABASE && !DATABASES.get(mode - PATTERN_DATABASE).covers(layout, movedPiece)) {
+            return parentValue;
+        }
+        return estimate(layout, pos, mode);
+    }
+
+    /**
+     * Estimate untuk board hasil gerakan move (kode Move.encode) dari parent
+     * dengan nilai heuristic parentValue.
+     */
+    public static int estimate(CompactBoard board, int move, int parentValue, int mode) {
+        int piece = Move.piece(move);
+        int from = board.position(piece) - Move.delta(move);
+        return estimate(board.layout, board.positions(), mode, piece, from, parentValue);
+    }
+
+    /**
+     * Batas sel (sepanjang jalur primary piece) di antara primary piece dan
+     * pintu keluar: zone[0]..zone[1] inklusif, kosong jika zone[0] > zone[1].
+     */
+    private static boolean zone(BoardLayout layout, byte[] pos, int[] zone) {
+        int p = layout.primaryIndex;
+        boolean horizontal = layout.isHorizontal(p);
+        int exitLane = horizontal ? layout.exitRow : layout.exitCol;
+        int exitPos = horizontal ? layout.exitCol : layout.exitRow;
+        if (exitLane != layout.lane(p)) return false;
+
+        int tail = pos[p] + layout.length(p) - 1;
+        if (exitPos > tail) {
+            zone[0] = tail + 1;
+            zone[1] = Math.min(exitPos - 1, layout.laneSize(p) - 1);
+        } else {
+            zone[0] = Math.max(exitPos + 1, 0);
+            zone[1] = pos[p] - 1;
+        }
+        return true;
+    }
+
+    /**
+     * Apakah gerakan piece (dari posisi from) bisa mengubah nilai blockers().
+     *
+     * Mode biasa hanya melihat sel di jalur primary antara primary piece dan
+     * pintu keluar. Mode rekursif juga melihat penghalang dari penghalang:
+     * kendaraan di kolom (atau baris) penghalang, di luar jalur primary. Kolom
+     * itu selalu berada di dalam rentang zone, jadi untuk mode rekursif setiap
+     * piece sejajar yang rentangnya memotong zone dihitung menyentuh, di lane
+     * mana pun. Jangan mempersempit pemeriksaan itu ke lane primary saja untuk
+     * mode rekursif; nilai parent akan dipakai ulang padahal sudah berubah.
+     */
+    private static boolean touchesZone(BoardLayout layout, byte[] pos, int piece, int from, boolean recursive) {
+        int p = layout.primaryIndex;
+        if (piece == p) return true;
+        int[] zone = SCRATCH.get().zone;
+        if (!zone(layout, pos, zone)) return false;
+
+        if (layout.isHorizontal(piece) != layout.isHorizontal(p)) {
+            // Piece tegak lurus: jalurnya memotong jalur primary di satu titik
+            return layout.lane(piece) >= zone[0] && layout.lane(piece) <= zone[1];
+        }
+        // Piece sejajar di lane lain hanya bisa menghalangi penghalang (mode rekursif)
+        if (!recursive && layout.lane(piece) != layout.lane(p)) return false;
+        int low = Math.min(from, pos[piece]);
+        int high = Math.max(from, pos[piece]) + layout.length(piece) - 1;
+        return high >= zone[0] && low <= zone[1];
+    }
+
+    /**
+     * Batas bawah biaya kendaraan penghalang. Mode biasa: setiap kendaraan di
+     * antara primary piece dan pintu keluar minimal bergeser satu sel.
+     * Mode rekursif: setiap penghalang minimal bergeser sejauh pergeseran
+     * terpendek yang membuatnya keluar dari jalur primary, ditambah satu untuk
+     * setiap kendaraan lain yang pasti menghalangi pergeseran itu (jika hanya
+     * satu arah yang mungkin). Kendaraan yang berbeda bergerak dengan gerakan
+     * yang berbeda, dan tiap kendaraan dihitung sekali, jadi tetap admissible.
+     */
+    private static int blockers(BoardLayout layout, byte[] pos, boolean recursive) {
+        int p = layout.primaryIndex;
+        Scratch scratch = SCRATCH.get();
+        int[] zone = scratch.zone;
+        if (!zone(layout, pos, zone) || zone[0] > zone[1]) return 0;
+
+        int[] owner = scratch.owner(layout, pos);
+        int stamp = scratch.nextStamp(layout.pieceCount);
+        int[] seen = scratch.seen;
+        boolean horizontal = layout.isHorizontal(p);
+        int lane = layout.lane(p);
+        int total = 0;
+
+        for (int along = zone[0]; along <= zone[1]; along++) {
+            int v = owner[cellIndex(layout, horizontal, lane, along)] - 1;
+            if (v < 0 || seen[v] == stamp) continue;
+            seen[v] = stamp;
+
+            if (!recursive || layout.isHorizontal(v) == horizontal) {
+                total += 1;
+                continue;
+            }
+
+            // Pergeseran minimum agar v keluar dari jalur primary (lane)
+            int start = pos[v], end = pos[v] + layout.length(v) - 1;
+            int shiftLow = end - lane + 1;
+            int shiftHigh = lane - start + 1;
+            boolean canLow = start - shiftLow >= 0;
+            boolean canHigh = end + shiftHigh < layout.laneSize(v);
+            if (!canLow && !canHigh) {
+                total += 1;
+                continue;
+            }
+            total += canLow && canHigh ? Math.min(shiftLow, shiftHigh) : (canLow ? shiftLow : shiftHigh);
+            if (canLow && canHigh) continue;
+
+            // Hanya satu arah: kendaraan di sel tujuan v pasti harus bergeser juga
+            int from = canLow ? start - shiftLow : end + 1;
+            int to = canLow ? start - 1 : end + shiftHigh;
+            for (int k = from; k <= to; k++) {
+                int c = owner[cellIndex(layout, layout.isHorizontal(v), layout.lane(v), k)] - 1;
+                if (c < 0 || c == p || seen[c] == stamp) continue;
+                seen[c] = stamp;
+                total += 1;
+            }
+        }
+        return total;
+    }
+
+    private static int cellIndex(BoardLayout layout, boolean horizontal, int lane, int along) {
+        return horizontal ? lane * layout.cols + along : along * layout.cols + lane;
+    }
+
+    private static final class Scratch {
+        final int[] zone = new int[2];
+        int[] owner = new int[0];
+        int[] seen = new int[0];
+        int stamp;
+
+        /**
+         * Grid pemilik sel: indeks piece + 1, atau 0 jika kosong.
+         */
+        int[] owner(BoardLayout layout, byte[] pos) {
+            int size = layout.rows * layout.cols;
+            if (owner.length < size) owner = new int[size];
+            Arrays.fill(owner, 0, size, 0);
+            for (int i = 0; i < layout.pieceCount; i++) {
+                for (int k = 0; k < layout.length(i); k++) {
+                    owner[cellIndex(layout, layout.isHorizontal(i), layout.lane(i), pos[i] + k)] = i + 1;
+                }
+            }
+            return owner;
+        }
+
+        int nextStamp(int pieceCount) {
+            if (seen.length < pieceCount) seen = new int[pieceCount];
+            if (stamp == Integer.MAX_VALUE) {
+                Arrays.fill(seen, 0);
+                stamp = 0;
+            }
+            return ++stamp;
+        }
+    }
+
+    private static int manhattan(int endRow, int endCol, int exitRow, int exitCol) {
+        return Math.abs(endRow - exitRow) + Math.abs(endCol - exitCol);
+    }
+
+    private static int euclidean(int endRow, int endCol, int exitRow, int exitCol) {
+        double dx = endRow - exitRow;
+        double dy = endCol - exitCol;
+        return (int) Math.sqrt(dx * dx + dy * dy);
+    }
+
+    private static int chebyshev(int endRow, int endCol, int exitRow, int exitCol) {
+        return Math.max(Math.abs(endRow - exitRow), Math.abs(endCol - exitCol));
+    }
+}
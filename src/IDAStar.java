@@ -1,81 +1,176 @@
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 public class IDAStar extends Solver {
     private int nodesVisited = 0;
     private long startTime;
     private String heuristicMode;
-    
+    private final TranspositionTable table;
+
+    // Sekitar 3 MB; cukup untuk papan 6x6 tanpa membuat memori ikut tumbuh
+    private static final int DEFAULT_TABLE_SIZE = 1 << 18;
+
+    private static final int PRUNED = 0;
+    private static final int EXPANDED = 1;
+    private static final int GOAL = 2;
+
+    // Stack eksplisit: satu buffer gerakan per kedalaman, dipakai ulang di setiap iterasi
+    private int[][] moveBuffers = new int[0][];
+    private int[] moveCounts = new int[0];
+    private int[] cursors = new int[0];
+    private int[] pathMoves = new int[0];
+    private int[] hValues = new int[0];
+    private int heuristicCode;
+    private boolean canonical;  // cermin boleh digabung di tabel transposisi
+    private int nextThreshold;
+
     public IDAStar(Board board, String heuristicMode) {
         super(board);
         this.heuristicMode = heuristicMode;
+        this.table = new TranspositionTable(DEFAULT_TABLE_SIZE);
     }
 
     @Override
     public void solve() {
         startTime = System.currentTimeMillis();
-        int threshold = Heuristic.estimate(startBoard, heuristicMode);
-    
+        nodesVisited = 0;  // solve() boleh dipanggil ulang pada objek yang sama
+        CompactBoard initial = CompactBoard.of(startBoard);
+        MutableBoard board = new MutableBoard(initial);
+        heuristicCode = Heuristic.modeOf(heuristicMode);
+        // Cermin hanya boleh dianggap transposisi jika heuristic-nya bernilai sama untuk cermin
+        canonical = Heuristic.isSymmetric(heuristicCode);
+        int threshold = Heuristic.estimate(initial, heuristicMode);
+        long previousExpanded = 0;
+
         while (true) {
-            Set<String> visited = new HashSet<>();
-            Result result = dfs(new State(startBoard, new ArrayList<>(), 0, 0), threshold, visited);
-    
-            if (result.found) {
-                this.solutionPath = result.state.path;
+            // Setiap iterasi mengekspansi ulang seluruh pohon iterasi sebelumnya
+            metrics.iterations++;
+            metrics.reExpansions += previousExpanded;
+            long expandedBefore = metrics.expanded;
+            // Entri dari iterasi sebelumnya dicatat dengan threshold yang lebih kecil, jadi harus dibuang
+            table.clear();
+            nextThreshold = Integer.MAX_VALUE;
+            int length = search(board, threshold);
+
+            if (length >= 0) {
+                List<Move> path = new ArrayList<>(length);
+                for (int i = 0; i < length; i++) {
+                    path.add(Move.of(board.layout, pathMoves[i]));
+                }
+                this.solutionPath = path;
                 long endTime = System.currentTimeMillis();
                 this.visitedCount = nodesVisited;
                 this.executionTimeMs = endTime - startTime;
                 return;
             }
-    
-            if (result.nextThreshold == Integer.MAX_VALUE) {
-                System.out.println("Tidak ada solusi ditemukan.");
+
+            if (stopReason != null || nextThreshold == Integer.MAX_VALUE) {
+                this.visitedCount = nodesVisited;
+                this.executionTimeMs = System.currentTimeMillis() - startTime;
+                if (stopReason == null) System.out.println("Tidak ada solusi ditemukan.");
                 return;
             }
-    
-            threshold = result.nextThreshold;
-        }
-    }
-    
 
-    private Result dfs(State current, int threshold, Set<String> visited) {
-        int f = current.cost + Heuristic.estimate(current.board, heuristicMode);
-        if (f > threshold) {
-            return new Result(false, null, f);
+            previousExpanded = metrics.expanded - expandedBefore;
+            threshold = nextThreshold;
         }
+    }
 
-        if (current.board.isGoal()) {
-            return new Result(true, current, f);
-        }
+    /**
+     * Satu iterasi DFS berbatas threshold tanpa rekursi. Gerakan diterapkan dan
+     * dibatalkan langsung pada board, jadi board kembali ke posisi awal jika
+     * solusi tidak ditemukan. Mengembalikan panjang solusi (gerakannya ada di
+     * pathMoves) atau -1.
+     */
+    private int search(MutableBoard board, int threshold) {
+        int status = enter(board, 0, threshold);
+        if (status == GOAL) return 0;
+        if (status == PRUNED) return -1;
 
-        visited.add(current.board.toString());
-        int minThreshold = Integer.MAX_VALUE;
+        int depth = 0;
+        while (depth >= 0) {
+            if (cursors[depth] < moveCounts[depth]) {
+                int move = moveBuffers[depth][cursors[depth]++];
+                board.apply(move);
+                pathMoves[depth] = move;
 
-        for (Move move : current.board.getPossibleMoves()) {
-            Board nextBoard = current.board.applyMove(move);
-            if (visited.contains(nextBoard.toString())) continue;
+                status = enter(board, depth + 1, threshold);
+                if (status == GOAL) return depth + 1;
+                if (status == EXPANDED) {
+                    depth++;
+                    if (shouldStop(nodesVisited, table.memoryBytes(), depth, threshold)) {
+                        // Kembalikan board ke posisi awal sebelum keluar
+                        for (int i = depth - 1; i >= 0; i--) board.undo(pathMoves[i]);
+                        return -1;
+                    }
+                } else {
+                    board.undo(move);
+                }
+            } else {
+                depth--;
+                if (depth >= 0) board.undo(pathMoves[depth]);
+            }
+        }
+        return -1;
+    }
 
-            List<Move> newPath = new ArrayList<>(current.path);
-            newPath.add(move);
-            State nextState = new State(nextBoard, newPath, current.cost + 1, 0);
+    /**
+     * Mengevaluasi node pada kedalaman depth (g = depth) dan, jika perlu
+     * diekspansi, mengisi buffer gerakan untuk kedalaman tersebut.
+     */
+    private int enter(MutableBoard board, int depth, int threshold) {
+        int h;
+        long t = metrics.heuristicStart();
+        if (depth == 0) {
+            h = Heuristic.estimate(board.layout, board.positions(), heuristicCode);
+        } else {
+            // Nilai parent dipakai ulang jika piece yang digeser tidak memengaruhi heuristic
+            int move = pathMoves[depth - 1];
+            int piece = Move.piece(move);
+            int from = board.positions()[piece] - Move.delta(move);
+            h = Heuristic.estimate(board.layout, board.positions(), heuristicCode, piece, from, hValues[depth - 1]);
+        }
+        metrics.heuristicEnd(t);
+        int f = depth + h;
+        if (f > threshold) {
+            nextThreshold = Math.min(nextThreshold, f);
+            return PRUNED;
+        }
 
-            Result result = dfs(nextState, threshold, visited);
-            if (result.found) return result;
+        if (board.isGoal()) {
+            return GOAL;
+        }
 
-            minThreshold = Math.min(minThreshold, result.nextThreshold);
+        if (table.checkAndStore(canonical ? board.canonicalKey() : board.key(), depth)) {
+            // Transposisi (atau cermin): sudah dijelajahi dengan g yang tidak lebih besar pada iterasi ini
+            metrics.duplicate();
+            return PRUNED;
         }
+
+        if (depth >= moveBuffers.length) growStack(depth, board.maxMoves());
+        hValues[depth] = h;
+        moveCounts[depth] = board.generateMoves(moveBuffers[depth]);
+        cursors[depth] = 0;
         nodesVisited++;
-        return new Result(false, null, minThreshold);
+        metrics.expand(f);
+        metrics.generate(moveCounts[depth]);
+        metrics.open(depth + 1);
+        return EXPANDED;
     }
 
-    private static class Result {
-        boolean found;
-        State state;
-        int nextThreshold;
-
-        Result(boolean found, State state, int nextThreshold) {
-            this.found = found;
-            this.state = state;
-            this.nextThreshold = nextThreshold;
+    private void growStack(int depth, int maxMoves) {
+        int size = Math.max(16, moveBuffers.length * 2);
+        while (size <= depth) size *= 2;
+        int[][] buffers = new int[size][];
+        System.arraycopy(moveBuffers, 0, buffers, 0, moveBuffers.length);
+        for (int i = moveBuffers.length; i < size; i++) {
+            buffers[i] = new int[maxMoves];
         }
+        moveBuffers = buffers;
+        moveCounts = Arrays.copyOf(moveCounts, size);
+        cursors = Arrays.copyOf(cursors, size);
+        pathMoves = Arrays.copyOf(pathMoves, size);
+        hValues = Arrays.copyOf(hValues, size);
     }
 }
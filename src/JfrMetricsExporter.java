@@ -0,0 +1,95 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Mengirim SearchMetrics sebagai event JFR "rushhour.Search", satu event per
+ * solve. Event hanya tercatat jika ada rekaman JFR yang aktif, misalnya:
+ *   java -XX:StartFlightRecording=filename=search.jfr BatchMain ... --jfr
+ * dan bisa dibaca dengan `jfr print --events rushhour.Search search.jfr`.
+ */
+public class JfrMetricsExporter implements Solver.MetricsListener {
+    private final String puzzle;
+    private final String algo;
+
+    public JfrMetricsExporter(String puzzle, String algo) {
+        this.puzzle = puzzle;
+        this.algo = algo;
+    }
+
+    @Override
+    public void onSearchFinished(Solver solver, SolveResult result, SearchMetrics metrics) {
+        SearchEvent event = new SearchEvent();
+        if (!event.isEnabled()) return;
+        event.puzzle = puzzle;
+        event.algorithm = algo;
+        event.status = result.status.name();
+        event.cost = result.cost();
+        event.timeMs = result.timeMs;
+        event.expanded = metrics.getExpanded();
+        event.generated = metrics.getGenerated();
+        event.duplicates = metrics.getDuplicates();
+        event.reExpansions = metrics.getReExpansions();
+        event.peakOpen = metrics.getPeakOpen();
+        event.peakClosed = metrics.getPeakClosed();
+        event.successorsPerExpansion = metrics.successorsPerExpansion();
+        event.branchingFactor = metrics.branchingFactor();
+        event.heuristicNanos = metrics.getHeuristicNanos();
+        event.fLayers = histogram(metrics.fHistogram());
+        event.commit();
+    }
+
+    /**
+     * JFR tidak mendukung field array, jadi histogram ditulis sebagai "f:jumlah" dipisah koma.
+     */
+    private static String histogram(long[] layers) {
+        StringBuilder sb = new StringBuilder();
+        for (int f = 0; f < layers.length; f++) {
+            if (layers[f] == 0) continue;
+            if (sb.length() > 0) sb.append(',');
+            sb.append(f).append(':').append(layers[f]);
+        }
+        return sb.toString();
+    }
+
+    @Name("rushhour.Search")
+    @Label("Rush Hour Search")
+    @Category("Rush Hour")
+    @Description("Statistik satu kali solve")
+    @StackTrace(false)
+    static class SearchEvent extends Event {
+        @Label("Puzzle")
+        String puzzle;
+        @Label("Algorithm")
+        String algorithm;
+        @Label("Status")
+        String status;
+        @Label("Cost")
+        int cost;
+        @Label("Time (ms)")
+        long timeMs;
+        @Label("Expanded")
+        long expanded;
+        @Label("Generated")
+        long generated;
+        @Label("Duplicates")
+        long duplicates;
+        @Label("Re-expansions")
+        long reExpansions;
+        @Label("Peak Open")
+        int peakOpen;
+        @Label("Peak Closed")
+        int peakClosed;
+        @Label("Successors per Expansion")
+        double successorsPerExpansion;
+        @Label("Effective Branching Factor")
+        double branchingFactor;
+        @Label("Heuristic Time (ns)")
+        long heuristicNanos;
+        @Label("F Layers")
+        String fLayers;
+    }
+}
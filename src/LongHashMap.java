@@ -0,0 +1,154 @@
+import java.util.Arrays;
+
+/**
+ * Map dengan kunci long primitif (open addressing, linear probing).
+ * Dipakai untuk memetakan kunci Zobrist ke node pencarian tanpa boxing Long.
+ */
+public class LongHashMap<V> {
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int threshold;
+    private V zeroValue;  // kunci 0 disimpan terpisah karena 0 menandai slot kosong
+    private boolean hasZero;
+
+    public LongHashMap() {
+        this(1 << 12);
+    }
+
+    public LongHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == 0) return zeroValue;
+        int i = mix(key) & mask;
+        while (keys[i] != 0) {
+            if (keys[i] == key) return (V) values[i];
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == 0) return hasZero;
+        int i = mix(key) & mask;
+        while (keys[i] != 0) {
+            if (keys[i] == key) return true;
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Menyimpan value untuk key; mengembalikan value lama atau null.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (key == 0) {
+            V old = zeroValue;
+            zeroValue = value;
+            if (!hasZero) {
+                hasZero = true;
+                size++;
+            }
+            return old;
+        }
+        int i = mix(key) & mask;
+        while (keys[i] != 0) {
+            if (keys[i] == key) {
+                V old = (V) values[i];
+                values[i] = value;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > threshold) rehash();
+        return null;
+    }
+
+    /**
+     * Menghapus key; mengembalikan value lama atau null. Slot sesudahnya
+     * digeser mundur agar rantai linear probing tidak terputus.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (key == 0) {
+            V old = zeroValue;
+            if (hasZero) {
+                hasZero = false;
+                zeroValue = null;
+                size--;
+            }
+            return old;
+        }
+        int i = mix(key) & mask;
+        while (keys[i] != key) {
+            if (keys[i] == 0) return null;
+            i = (i + 1) & mask;
+        }
+        V old = (V) values[i];
+        int hole = i;
+        while (true) {
+            i = (i + 1) & mask;
+            if (keys[i] == 0) break;
+            int home = mix(keys[i]) & mask;
+            // Geser jika slot asal entri ini tidak berada di antara hole (eksklusif) dan i
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        keys[hole] = 0;
+        values[hole] = null;
+        size--;
+        return old;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == 0) continue;
+            int i = mix(oldKeys[j]) & mask;
+            while (keys[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(values, null);
+        zeroValue = null;
+        hasZero = false;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+}
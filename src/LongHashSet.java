@@ -0,0 +1,96 @@
+import java.util.Arrays;
+
+/**
+ * Himpunan long dengan open addressing (linear probing) tanpa boxing.
+ * Dipakai sebagai closed set berisi kunci Zobrist. Nilai 0 disimpan lewat
+ * flag terpisah karena 0 dipakai sebagai penanda slot kosong.
+ */
+public class LongHashSet {
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] table;
+    private int mask;
+    private int size;
+    private int threshold;
+    private boolean hasZero;
+
+    public LongHashSet() {
+        this(1 << 12);
+    }
+
+    public LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        table = new long[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Menambahkan key; mengembalikan false jika key sudah ada.
+     */
+    public boolean add(long key) {
+        if (key == 0) {
+            if (hasZero) return false;
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int i = mix(key) & mask;
+        while (table[i] != 0) {
+            if (table[i] == key) return false;
+            i = (i + 1) & mask;
+        }
+        table[i] = key;
+        if (++size > threshold) rehash();
+        return true;
+    }
+
+    public boolean contains(long key) {
+        if (key == 0) return hasZero;
+        int i = mix(key) & mask;
+        while (table[i] != 0) {
+            if (table[i] == key) return true;
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    private void rehash() {
+        long[] old = table;
+        allocate(old.length << 1);
+        for (long key : old) {
+            if (key == 0) continue;
+            int i = mix(key) & mask;
+            while (table[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            table[i] = key;
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0L);
+        hasZero = false;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Perkiraan memori tabel dalam byte (tanpa header objek).
+     */
+    public long memoryBytes() {
+        return (long) table.length * Long.BYTES;
+    }
+}
@@ -176,28 +176,75 @@ public class Main {
         }
 
         // Algoritma dan Heuristic
-        System.out.print("\nPilih algoritma (UCS/GBFS/A*/IDA*): ");
+        System.out.print("\nPilih algoritma (UCS/GBFS/A*/IDA*/PIDA*/BiUCS/BiA*/HDA*/SMA*/ARA*/Beam/Ext-UCS/Ext-A*): ");
         String algo = scanner.nextLine().trim().toLowerCase();
 
         String heuristicChoice = "1"; // Default ke Manhattan
-        if (!algo.equals("ucs")) {
+        if (!algo.equals("ucs") && !algo.equals("biucs") && !algo.equals("ext-ucs")) {
             System.out.println("Pilih heuristic:");
             System.out.println("1 = Manhattan Distance");
             System.out.println("2 = Euclidean Distance");
             System.out.println("3 = Chebyshev Distance");
-            System.out.print("Pilihan (1-3): ");
+            System.out.println("4 = Blocking Vehicles");
+            System.out.println("5 = Blockers of Blockers");
+            System.out.println("6 = Pattern Database (file dari PatternDatabase)");
+            System.out.print("Pilihan (1-6): ");
             heuristicChoice = scanner.nextLine().trim();
-            if (!heuristicChoice.matches("[123]")) {
+            if (heuristicChoice.equals("6")) {
+                System.out.print("Masukkan path file pattern database: ");
+                heuristicChoice = "pdb:" + scanner.nextLine().trim();
+            } else if (!heuristicChoice.matches("[1-5]")) {
                 System.out.println("Heuristic tidak valid. Menggunakan Manhattan Distance (1).");
                 heuristicChoice = "1";
             }
         }
 
+        int smaNodes = 0;
+        if (algo.equals("sma*") || algo.equals("smastar")) {
+            System.out.print("Batas node di memori (kosong = 1000000): ");
+            String limit = scanner.nextLine().trim();
+            if (!limit.isEmpty()) {
+                try {
+                    smaNodes = Integer.parseInt(limit);
+                } catch (NumberFormatException e) {
+                    System.out.println("Batas tidak valid. Menggunakan 1000000 node.");
+                }
+            }
+        }
+
+        int beamWidth = BeamSearch.DEFAULT_WIDTH;
+        if (algo.equals("beam")) {
+            System.out.print("Lebar beam (kosong = " + BeamSearch.DEFAULT_WIDTH + "): ");
+            String width = scanner.nextLine().trim();
+            if (!width.isEmpty()) {
+                try {
+                    beamWidth = Math.max(1, Integer.parseInt(width));
+                } catch (NumberFormatException e) {
+                    System.out.println("Lebar tidak valid. Menggunakan " + BeamSearch.DEFAULT_WIDTH + ".");
+                }
+            }
+        }
+
         Solver solver = switch (algo) {
             case "ucs" -> new UCS(board);
             case "gbfs" -> new GBFS(board, heuristicChoice);
             case "a*", "astar" -> new AStar(board, heuristicChoice);
             case "ida*", "idastar" -> new IDAStar(board, heuristicChoice);
+            case "pida*", "pidastar" -> new ParallelIDAStar(board, heuristicChoice);
+            case "biucs" -> new BidirectionalSearch(board, null);
+            case "bia*", "biastar" -> new BidirectionalSearch(board, heuristicChoice);
+            case "hda*", "hdastar" -> new ParallelAStar(board, heuristicChoice);
+            case "sma*", "smastar" -> new SMAStar(board, heuristicChoice, smaNodes);
+            case "beam" -> new BeamSearch(board, heuristicChoice, beamWidth);
+            case "ara*", "arastar" -> {
+                ARAStar ara = new ARAStar(board, heuristicChoice);
+                ara.setSolutionListener((path, cost, bound) ->
+                        System.out.printf("Solusi sementara: %d gerakan, biaya %d (maks. %.2fx optimal)%n",
+                                path.size(), cost, bound));
+                yield ara;
+            }
+            case "ext-ucs" -> new ExternalAStar(board, null);
+            case "ext-a*", "extastar" -> new ExternalAStar(board, heuristicChoice);
             default -> {
                 System.out.println("Algoritma tidak dikenali. Menggunakan A* sebagai default.");
                 yield new AStar(board, heuristicChoice);
@@ -20,6 +20,7 @@ public class MainGUI extends JFrame {
     private JTextArea outputArea;
     private JComboBox<String> algoComboBox;
     private JComboBox<String> heuristicComboBox;
+    private JSpinner beamWidthSpinner;
     private JPanel boardPanel;
     private JButton nextStepButton;
     private JButton prevStepButton;
@@ -31,6 +32,14 @@ public class MainGUI extends JFrame {
     private JPanel inputPanel;
     private JComboBox<String> edgeComboBox;
     private JComboBox<Integer> exitPositionComboBox;
+    private JButton runButton;
+    private JButton cancelButton;
+    private JButton loadButton;
+    private boolean solving;  // board tidak boleh diganti selama solver berjalan; hasilnya digambar di atas board
+    private JLabel progressLabel;
+    private CancellationToken cancellation;
+    // Solusi yang pernah ditemukan selama GUI berjalan, dipakai ulang untuk board yang sama
+    private static final SolutionCache SOLUTION_CACHE = new SolutionCache(10_000);
 
     private static final Color PRIMARY_COLOR = Color.BLUE;
     private static final Color EXIT_COLOR = Color.RED;
@@ -54,33 +63,55 @@ public class MainGUI extends JFrame {
         mainPanel.add(controlPanel, BorderLayout.NORTH);
 
         // File chooser button
-        JButton loadButton = new JButton("Load Board (.txt)");
+        loadButton = new JButton("Load Board (.txt)");
         controlPanel.add(loadButton);
 
         // Algorithm selection
-        String[] algorithms = {"UCS", "GBFS", "A*", "IDA*"};
+        String[] algorithms = {"UCS", "GBFS", "A*", "IDA*", "PIDA*", "Bi-UCS", "Bi-A*", "HDA*", "Beam"};
         algoComboBox = new JComboBox<>(algorithms);
         controlPanel.add(new JLabel("Algorithm:"));
         controlPanel.add(algoComboBox);
 
         // Heuristic selection
-        String[] heuristics = {"Manhattan", "Euclidean", "Chebyshev"};
+        String[] heuristics = {"Manhattan", "Euclidean", "Chebyshev", "Blocking", "Blockers of Blockers"};
         heuristicComboBox = new JComboBox<>(heuristics);
-        controlPanel.add(new JLabel("Heuristic:"));
+        JLabel heuristicLabel = new JLabel("Heuristic:");
+        controlPanel.add(heuristicLabel);
         controlPanel.add(heuristicComboBox);
 
+        // Lebar beam, hanya tampil untuk Beam
+        beamWidthSpinner = new JSpinner(new SpinnerNumberModel(BeamSearch.DEFAULT_WIDTH, 1, 1_000_000, 100));
+        JLabel beamWidthLabel = new JLabel("Width:");
+        controlPanel.add(beamWidthLabel);
+        controlPanel.add(beamWidthSpinner);
+        beamWidthLabel.setVisible(false);
+        beamWidthSpinner.setVisible(false);
+
         // Add listener to show/hide heuristic based on algorithm selection
         algoComboBox.addActionListener(e -> {
             String selectedAlgo = (String) algoComboBox.getSelectedItem();
-            boolean showHeuristic = !selectedAlgo.equals("UCS");
+            boolean showHeuristic = !selectedAlgo.equals("UCS") && !selectedAlgo.equals("Bi-UCS");
             heuristicComboBox.setVisible(showHeuristic);
-            controlPanel.getComponent(controlPanel.getComponentCount() - 2).setVisible(showHeuristic); // Label
+            heuristicLabel.setVisible(showHeuristic);
+            boolean showWidth = selectedAlgo.equals("Beam");
+            beamWidthLabel.setVisible(showWidth);
+            beamWidthSpinner.setVisible(showWidth);
+            controlPanel.revalidate();
         });
 
         // Run button
-        JButton runButton = new JButton("Run Solver");
+        runButton = new JButton("Run Solver");
         controlPanel.add(runButton);
 
+        // Cancel button, hanya aktif selama solver berjalan
+        cancelButton = new JButton("Cancel");
+        cancelButton.setEnabled(false);
+        controlPanel.add(cancelButton);
+
+        // Progress solver (node, frontier, f terbaik, node/detik)
+        progressLabel = new JLabel(" ");
+        controlPanel.add(progressLabel);
+
         // Center panel with tabs for input and board display
         JTabbedPane centerPane = new JTabbedPane();
         mainPanel.add(centerPane, BorderLayout.CENTER);
@@ -155,7 +186,7 @@ public class MainGUI extends JFrame {
         boardPanel.setTransferHandler(new TransferHandler() {
             @Override
             public boolean canImport(TransferSupport support) {
-                return support.isDataFlavorSupported(DataFlavor.javaFileListFlavor);
+                return !solving && support.isDataFlavorSupported(DataFlavor.javaFileListFlavor);
             }
 
             @Override
@@ -203,6 +234,11 @@ public class MainGUI extends JFrame {
         // Run button action
         runButton.addActionListener(e -> runSolver());
 
+        // Cancel button action
+        cancelButton.addActionListener(e -> {
+            if (cancellation != null) cancellation.cancel();
+        });
+
         // Animation controls
         prevStepButton.addActionListener(e -> showPreviousStep());
         nextStepButton.addActionListener(e -> showNextStep());
@@ -379,6 +415,10 @@ public class MainGUI extends JFrame {
     }
 
     private void submitConfiguration() {
+        if (solving) {
+            JOptionPane.showMessageDialog(this, "Solver is still running; cancel it before changing the board.", "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
         try {
             int rows = Integer.parseInt(rowsField.getText().trim());
             int cols = Integer.parseInt(colsField.getText().trim());
@@ -635,6 +675,8 @@ public class MainGUI extends JFrame {
             case "Manhattan" -> "1";
             case "Euclidean" -> "2";
             case "Chebyshev" -> "3";
+            case "Blocking" -> "4";
+            case "Blockers of Blockers" -> "5";
             default -> "1";
         };
 
@@ -643,21 +685,78 @@ public class MainGUI extends JFrame {
             case "GBFS" -> new GBFS(board, heuristicChoice);
             case "A*" -> new AStar(board, heuristicChoice);
             case "IDA*" -> new IDAStar(board, heuristicChoice);
+            case "PIDA*" -> new ParallelIDAStar(board, heuristicChoice);
+            case "Bi-UCS" -> new BidirectionalSearch(board, null);
+            case "Bi-A*" -> new BidirectionalSearch(board, heuristicChoice);
+            case "HDA*" -> new ParallelAStar(board, heuristicChoice);
+            case "Beam" -> new BeamSearch(board, heuristicChoice, (Integer) beamWidthSpinner.getValue());
             default -> new AStar(board, heuristicChoice);
         };
+        String algoName = switch (selectedAlgo) {
+            case "Bi-UCS" -> "biucs";
+            case "Bi-A*" -> "bia*";
+            case "Beam" -> "beam:" + beamWidthSpinner.getValue();
+            default -> selectedAlgo.toLowerCase();
+        };
+        solver = new CachingSolver(solver, SOLUTION_CACHE, algoName, heuristicChoice);
 
         // Clear previous solution
         solutionPath = null;
         currentStep = 0;
         outputArea.setText("");
+        prevStepButton.setEnabled(false);
+        nextStepButton.setEnabled(false);
+        playButton.setEnabled(false);
+
+        // Solver berjalan di background thread; EDT hanya menerima progres dan hasil
+        Solver running = solver;
+        CancellationToken token = new CancellationToken();
+        cancellation = token;
+        runButton.setEnabled(false);
+        cancelButton.setEnabled(true);
+        loadButton.setEnabled(false);
+        solving = true;
+        progressLabel.setText("Solving...");
 
-        // Run solver
         long startTime = System.currentTimeMillis();
-        solver.solve();
-        long endTime = System.currentTimeMillis();
+        SwingWorker<SolveResult, int[]> worker = new SwingWorker<>() {
+            @Override
+            protected SolveResult doInBackground() {
+                running.setProgressListener((expanded, frontier, bound) -> publish(new int[]{expanded, frontier, bound}));
+                return running.solve(SearchBudget.UNLIMITED, token);
+            }
+
+            @Override
+            protected void process(List<int[]> chunks) {
+                // Hanya progres terbaru yang ditampilkan
+                int[] last = chunks.get(chunks.size() - 1);
+                long elapsed = Math.max(1, System.currentTimeMillis() - startTime);
+                progressLabel.setText("Nodes: " + last[0] + " | Frontier: " + last[1]
+                        + " | Best f: " + last[2] + " | " + (last[0] * 1000L / elapsed) + " nodes/s");
+            }
+
+            @Override
+            protected void done() {
+                runButton.setEnabled(true);
+                cancelButton.setEnabled(false);
+                loadButton.setEnabled(true);
+                solving = false;
+                if (cancellation == token) cancellation = null;
+                try {
+                    showResult(get(), selectedAlgo, selectedHeuristic);
+                } catch (Exception e) {
+                    progressLabel.setText(" ");
+                    outputArea.append("Solver error: " + e.getMessage() + "\n");
+                }
+            }
+        };
+        worker.execute();
+    }
 
-        solutionPath = solver.getSolutionPath();
-        if (solutionPath != null && !solutionPath.isEmpty()) {
+    private void showResult(SolveResult result, String selectedAlgo, String selectedHeuristic) {
+        progressLabel.setText("Nodes: " + result.expanded + " | " + result.timeMs + " ms");
+        solutionPath = result.path;
+        if (result.isSolved() && !solutionPath.isEmpty()) {
             // Enable animation controls
             prevStepButton.setEnabled(false);
             nextStepButton.setEnabled(true);
@@ -669,12 +768,18 @@ public class MainGUI extends JFrame {
             // Show solution info
             outputArea.append("Solution found!\n");
             outputArea.append("Algorithm: " + selectedAlgo + "\n");
-            if (!selectedAlgo.equals("UCS")) {
+            if (!selectedAlgo.equals("UCS") && !selectedAlgo.equals("Bi-UCS")) {
                 outputArea.append("Heuristic: " + selectedHeuristic + "\n");
             }
-            outputArea.append("Nodes visited: " + solver.getVisitedCount() + "\n");
+            outputArea.append("Nodes visited: " + result.expanded
+                    + (solver instanceof CachingSolver c && c.isCacheHit() ? " (cached)" : "") + "\n");
             outputArea.append("Solution length: " + solutionPath.size() + "\n");
-            outputArea.append("Time: " + (endTime - startTime) + " ms\n");
+            outputArea.append("Time: " + result.timeMs + " ms\n");
+            outputArea.append("Search: " + solver.getMetrics() + "\n");
+        } else if (result.status == SolveResult.Status.CANCELLED) {
+            outputArea.append("Solver cancelled.\n");
+            outputArea.append("Nodes visited: " + result.expanded + "\n");
+            outputArea.append("Frontier: " + result.frontierSize + ", best f: " + result.bestBound + "\n");
         } else {
             outputArea.append("No solution found.\n");
             prevStepButton.setEnabled(false);
@@ -1,12 +1,81 @@
+/**
+ * Gerakan satu piece. Di dalam pencarian gerakan disimpan sebagai int
+ * (lihat encode): indeks piece, sumbu, dan delta bertanda. Objek Move hanya
+ * dipakai sebagai tampilan untuk output, file solusi, dan GUI.
+ */
 public class Move {
-    public char pieceId;
-    public String direction; // "kiri", "kanan", "atas", "bawah"
-    public int amount;       // jumlah langkah (1 atau lebih)
+    public final char pieceId;
+    public final String direction; // "kiri", "kanan", "atas", "bawah"
+    public final int amount;       // jumlah langkah (1 atau lebih)
+    private final boolean horizontal;
+    private final int delta;       // perubahan posisi bertanda (negatif untuk kiri/atas)
+
+    // Kode int: bit 9 ke atas indeks piece, bit 8 sumbu (1 = horizontal), bit 0-7 delta bertanda
+    private static final int AXIS_BIT = 1 << 8;
 
     public Move(char pieceId, String direction, int amount) {
         this.pieceId = pieceId;
         this.direction = direction;
         this.amount = amount;
+        this.horizontal = direction.equals("kiri") || direction.equals("kanan");
+        this.delta = direction.equals("kiri") || direction.equals("atas") ? -amount : amount;
+    }
+
+    public static int encode(int piece, boolean horizontal, int delta) {
+        return (piece << 9) | (horizontal ? AXIS_BIT : 0) | (delta & 0xFF);
+    }
+
+    public static int piece(int move) {
+        return move >>> 9;
+    }
+
+    public static boolean isHorizontal(int move) {
+        return (move & AXIS_BIT) != 0;
+    }
+
+    public static int delta(int move) {
+        return (byte) move;
+    }
+
+    public static int amount(int move) {
+        return Math.abs((byte) move);
+    }
+
+    /**
+     * Kode gerakan kebalikan (piece dan sumbu sama, delta berlawanan).
+     */
+    public static int reverse(int move) {
+        return (move & ~0xFF) | (-delta(move) & 0xFF);
+    }
+
+    /**
+     * Membuat tampilan objek dari kode gerakan.
+     */
+    public static Move of(BoardLayout layout, int move) {
+        int delta = delta(move);
+        String direction = isHorizontal(move) ? (delta < 0 ? "kiri" : "kanan") : (delta < 0 ? "atas" : "bawah");
+        return new Move(layout.id(piece(move)), direction, Math.abs(delta));
+    }
+
+    public boolean isHorizontal() {
+        return horizontal;
+    }
+
+    public int delta() {
+        return delta;
+    }
+
+    /**
+     * Gerakan kebalikan yang mengembalikan piece ke posisi semula.
+     */
+    public Move reversed() {
+        String opposite = switch (direction) {
+            case "kiri" -> "kanan";
+            case "kanan" -> "kiri";
+            case "atas" -> "bawah";
+            default -> "atas";
+        };
+        return new Move(pieceId, opposite, amount);
     }
 
     @Override
@@ -20,12 +89,12 @@ public class Move {
         if (obj == null || getClass() != obj.getClass()) return false;
         Move other = (Move) obj;
         return pieceId == other.pieceId && 
-               direction.equals(other.direction) && 
-               amount == other.amount;
+               horizontal == other.horizontal && 
+               delta == other.delta;
     }
     
     @Override
     public int hashCode() {
-        return 31 * (31 * pieceId + direction.hashCode()) + amount;
+        return 31 * (31 * pieceId + (horizontal ? 1 : 0)) + delta;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,101 @@
+/**
+ * Pembangkit gerakan berbasis bitmask. Setiap baris dan kolom disimpan sebagai
+ * satu long (bit ke-i = sel ke-i terisi) ditambah bit dinding di ujung jalur,
+ * sehingga jarak geser bebas sebuah piece cukup dihitung dengan
+ * numberOfLeadingZeros/numberOfTrailingZeros tanpa menelusuri sel satu per satu.
+ *
+ * Instance memegang buffer mask dan buffer gerakan yang dipakai ulang, jadi
+ * tidak thread-safe; satu instance per solver (atau per thread).
+ */
+public final class MoveGenerator {
+    private final BoardLayout layout;
+    private final long[] masks;
+    private final int[] moves;
+
+    public MoveGenerator(BoardLayout layout) {
+        this.layout = layout;
+        this.masks = new long[layout.rows + layout.cols];
+        this.moves = new int[maxMoves(layout)];
+    }
+
+    /**
+     * Membangkitkan semua gerakan legal dari board ke buffer internal dan
+     * mengembalikan jumlahnya; ambil gerakannya dengan move(i).
+     */
+    public int generate(CompactBoard board) {
+        fillMasks(layout, board.positions(), masks);
+        return generate(layout, board.positions(), masks, moves);
+    }
+
+    public int move(int i) {
+        return moves[i];
+    }
+
+    /**
+     * Jumlah gerakan maksimum dari satu posisi, untuk menentukan ukuran buffer.
+     */
+    public static int maxMoves(BoardLayout layout) {
+        int total = 0;
+        for (int i = 0; i < layout.pieceCount; i++) {
+            total += layout.laneSize(i) - layout.length(i);
+        }
+        return total;
+    }
+
+    /**
+     * Indeks mask untuk jalur piece: baris 0..rows-1, lalu kolom.
+     */
+    static int maskIndex(BoardLayout layout, int piece) {
+        return layout.isHorizontal(piece) ? layout.lane(piece) : layout.rows + layout.lane(piece);
+    }
+
+    /**
+     * Mengisi mask okupansi semua baris dan kolom, termasuk bit dinding.
+     * Sel 'K' di dalam grid tidak termasuk piece, jadi dianggap kosong.
+     */
+    static void fillMasks(BoardLayout layout, byte[] pos, long[] masks) {
+        int rows = layout.rows;
+        for (int r = 0; r < rows; r++) masks[r] = 1L << layout.cols;
+        for (int c = 0; c < layout.cols; c++) masks[rows + c] = 1L << rows;
+        for (int i = 0; i < layout.pieceCount; i++) {
+            toggle(layout, masks, i, pos[i]);
+        }
+    }
+
+    /**
+     * Membalik bit semua sel yang ditempati piece di posisi at, pada mask
+     * jalurnya sendiri dan pada mask jalur yang tegak lurus.
+     */
+    static void toggle(BoardLayout layout, long[] masks, int piece, int at) {
+        int len = layout.length(piece);
+        int lane = layout.lane(piece);
+        masks[maskIndex(layout, piece)] ^= ((1L << len) - 1) << at;
+        int crossBase = layout.isHorizontal(piece) ? layout.rows : 0;
+        for (int k = 0; k < len; k++) {
+            masks[crossBase + at + k] ^= 1L << lane;
+        }
+    }
+
+    /**
+     * Menulis gerakan legal ke buffer: untuk setiap piece, geser mundur 1..n
+     * lalu geser maju 1..m sel.
+     */
+    static int generate(BoardLayout layout, byte[] pos, long[] masks, int[] buffer) {
+        int count = 0;
+        for (int i = 0; i < layout.pieceCount; i++) {
+            long mask = masks[maskIndex(layout, i)];
+            int p = pos[i];
+            boolean horizontal = layout.isHorizontal(i);
+            long below = mask & ((1L << p) - 1);
+            int back = p - (64 - Long.numberOfLeadingZeros(below));
+            int forward = Long.numberOfTrailingZeros(mask >>> (p + layout.length(i)));
+            for (int d = 1; d <= back; d++) {
+                buffer[count++] = Move.encode(i, horizontal, -d);
+            }
+            for (int d = 1; d <= forward; d++) {
+                buffer[count++] = Move.encode(i, horizontal, d);
+            }
+        }
+        return count;
+    }
+}
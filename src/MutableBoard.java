@@ -0,0 +1,85 @@
+import java.util.Arrays;
+
+/**
+ * Papan yang bisa diubah di tempat (make/unmake) untuk pencarian depth-first.
+ * Gerakan dikodekan sebagai int (lihat Move.encode) dan ditulis
+ * ke buffer milik pemanggil, sehingga loop pencarian tidak mengalokasikan objek.
+ */
+public final class MutableBoard {
+    public final BoardLayout layout;
+    private final byte[] pos;
+    private final long[] masks;  // okupansi per baris lalu per kolom, lihat MoveGenerator
+    private long key;
+    private long mirrorKey;  // lihat CompactBoard.canonicalKey
+
+    public MutableBoard(CompactBoard board) {
+        this.layout = board.layout;
+        this.pos = board.positions().clone();
+        this.masks = new long[layout.rows + layout.cols];
+        this.key = board.key();
+        this.mirrorKey = layout.isSymmetric() ? layout.mirrorKey(pos) : 0;
+        MoveGenerator.fillMasks(layout, pos, masks);
+    }
+
+    /**
+     * Jumlah gerakan maksimum dari satu posisi, untuk menentukan ukuran buffer.
+     */
+    public int maxMoves() {
+        return MoveGenerator.maxMoves(layout);
+    }
+
+    /**
+     * Menulis semua gerakan legal ke buffer dan mengembalikan jumlahnya.
+     * Buffer harus berukuran minimal maxMoves().
+     */
+    public int generateMoves(int[] buffer) {
+        return MoveGenerator.generate(layout, pos, masks, buffer);
+    }
+
+    public void apply(int move) {
+        shift(Move.piece(move), Move.delta(move));
+    }
+
+    public void undo(int move) {
+        shift(Move.piece(move), -Move.delta(move));
+    }
+
+    private void shift(int piece, int delta) {
+        MoveGenerator.toggle(layout, masks, piece, pos[piece]);
+        key ^= layout.zobrist(piece, pos[piece]);
+        if (layout.isSymmetric()) mirrorKey ^= layout.mirrorZobrist(piece, pos[piece]);
+        pos[piece] += delta;
+        key ^= layout.zobrist(piece, pos[piece]);
+        if (layout.isSymmetric()) mirrorKey ^= layout.mirrorZobrist(piece, pos[piece]);
+        MoveGenerator.toggle(layout, masks, piece, pos[piece]);
+    }
+
+    public boolean isGoal() {
+        int p = layout.primaryIndex;
+        if (p < 0) return false;
+        if (layout.exitRow < 0 || layout.exitCol < 0) return false;
+
+        int tail = pos[p] + layout.length(p);
+        if (layout.isHorizontal(p)) {
+            return layout.lane(p) == layout.exitRow && tail == layout.exitCol;
+        } else {
+            return layout.lane(p) == layout.exitCol && tail == layout.exitRow;
+        }
+    }
+
+    public long key() {
+        return key;
+    }
+
+    public long canonicalKey() {
+        return layout.isSymmetric() ? Math.min(key, mirrorKey) : key;
+    }
+
+    byte[] positions() {
+        return pos;
+    }
+
+    public CompactBoard snapshot() {
+        return new CompactBoard(layout, Arrays.copyOf(pos, pos.length));
+    }
+}
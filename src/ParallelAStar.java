@@ -0,0 +1,230 @@
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A* paralel dengan distribusi berbasis hash (HDA*). Setiap state dimiliki
+ * satu thread berdasarkan kunci Zobrist-nya; thread tersebut menyimpan open
+ * list dan tabel g lokal untuk state miliknya. Successor milik thread lain
+ * dikirim lewat antrian lock-free (ConcurrentLinkedQueue).
+ *
+ * Terminasi: pending menghitung node yang masih ada di antrian masuk atau open
+ * list mana pun. Successor dihitung sebelum dikirim dan node induk baru
+ * dikurangi setelah semua successor-nya terkirim, jadi pending == 0 berarti
+ * tidak ada pekerjaan tersisa di thread mana pun. Goal pertama belum tentu
+ * optimal, sehingga pencarian berlanjut sampai semua node dengan f lebih kecil
+ * dari f goal terbaik habis.
+ */
+public class ParallelAStar extends Solver {
+    private String heuristicMode;
+    private int heuristicCode;
+    private int threads;
+
+    private ConcurrentLinkedQueue<State>[] inboxes;
+    private AtomicLong pending;
+    private AtomicInteger expanded;
+    private AtomicIntegerArray currentF;  // f node terakhir yang diambil tiap worker, untuk progres
+    private volatile State incumbent;
+    private volatile int incumbentF;
+    private volatile boolean stopped;
+    private volatile Throwable failure;   // exception pertama dari worker, dilempar ulang oleh solve()
+    private SearchMetrics[] workerMetrics;  // satu per worker, digabung ke metrics setelah semua selesai
+    private BoardLayout startLayout;
+
+    public ParallelAStar(Board board, String heuristicMode) {
+        this(board, heuristicMode, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelAStar(Board board, String heuristicMode, int threads) {
+        super(board);
+        this.heuristicMode = heuristicMode;
+        this.heuristicCode = Heuristic.modeOf(heuristicMode);
+        this.threads = Math.max(1, threads);
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void solve() {
+        long startTime = System.currentTimeMillis();
+
+        inboxes = new ConcurrentLinkedQueue[threads];
+        for (int i = 0; i < threads; i++) {
+            inboxes[i] = new ConcurrentLinkedQueue<>();
+        }
+        pending = new AtomicLong();
+        expanded = new AtomicInteger();
+        currentF = new AtomicIntegerArray(threads);
+        incumbent = null;
+        incumbentF = Integer.MAX_VALUE;
+        stopped = false;
+        failure = null;
+        workerMetrics = new SearchMetrics[threads];
+        for (int i = 0; i < threads; i++) {
+            workerMetrics[i] = new SearchMetrics();
+            workerMetrics[i].timeHeuristic = metrics.timeHeuristic;
+        }
+
+        CompactBoard initial = CompactBoard.of(startBoard);
+        startLayout = initial.layout;
+        State start = new State(initial, null, 0, 0, Heuristic.estimate(initial, heuristicMode));
+        pending.incrementAndGet();
+        inboxes[owner(initial.key())].add(start);
+
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            int id = i;
+            workers[i] = new Thread(() -> run(id), "hda-worker-" + i);
+            workers[i].start();
+        }
+        // Thread pemanggil mengawasi interrupt dan batas memori selama worker berjalan
+        long stateBytes = stateBytes(startLayout);
+        for (Thread worker : workers) {
+            while (worker.isAlive()) {
+                try {
+                    worker.join(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                frontierSize = (int) pending.get();
+                bestBound = minCurrentF();
+                reportProgress(expanded.get());
+                if (!stopped && checkLimits(expanded.get(), (expanded.get() + pending.get()) * stateBytes)) {
+                    stopped = true;
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw new IllegalStateException("Worker HDA* gagal", failure);
+        }
+        for (SearchMetrics m : workerMetrics) {
+            metrics.merge(m);
+        }
+        this.visitedCount = expanded.get();
+        this.executionTimeMs = System.currentTimeMillis() - startTime;
+        if (stopped) return;
+        if (incumbent == null) {
+            System.out.println("Tidak ada solusi ditemukan.");
+            return;
+        }
+        this.solutionPath = incumbent.path();
+    }
+
+    private int minCurrentF() {
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < threads; i++) {
+            min = Math.min(min, currentF.get(i));
+        }
+        return min;
+    }
+
+    private int owner(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) ((h >>> 33) % threads);
+    }
+
+    /**
+     * Worker yang mati karena exception tidak lagi mengurangi pending, sehingga
+     * worker lain akan menunggu selamanya; hentikan semuanya dan catat penyebabnya.
+     */
+    private void run(int id) {
+        try {
+            work(id);
+        } catch (Throwable t) {
+            synchronized (this) {
+                if (failure == null) failure = t;
+            }
+            stopped = true;
+        }
+    }
+
+    private void work(int id) {
+        BucketQueue<State> open = new BucketQueue<>(true);  // seri f: g terbesar dulu
+        MoveGenerator generator = new MoveGenerator(startLayout);
+        LongHashMap<State> best = new LongHashMap<>();
+        ConcurrentLinkedQueue<State> inbox = inboxes[id];
+        SearchMetrics local = workerMetrics[id];
+        int idle = 0;
+
+        while (!stopped) {
+            State received;
+            while ((received = inbox.poll()) != null) {
+                receive(received, open, best, local);
+            }
+
+            State current = open.poll();
+            if (current == null) {
+                if (pending.get() == 0) return;
+                // Menunggu kiriman dari thread lain
+                if (++idle < 64) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(50_000);
+                }
+                continue;
+            }
+            idle = 0;
+            currentF.lazySet(id, current.cost + current.heuristic);
+
+            if (best.get(current.board.key()) != current || current.cost + current.heuristic >= incumbentF) {
+                // Usang (ada jalur lebih murah) atau tidak bisa lagi memperbaiki solusi
+                local.duplicate();
+                pending.decrementAndGet();
+                continue;
+            }
+
+            expanded.incrementAndGet();
+            local.expand(current.cost + current.heuristic);
+            local.open(open.size());
+            local.closed(best.size());
+            if (current.board.isGoal()) {
+                offerSolution(current);
+                pending.decrementAndGet();
+                continue;
+            }
+
+            int moveCount = generator.generate(current.board);
+            local.generate(moveCount);
+            for (int i = 0; i < moveCount; i++) {
+                int code = generator.move(i);
+                CompactBoard next = current.board.applyMove(code);
+                long t = local.heuristicStart();
+                int h = Heuristic.estimate(next, code, current.heuristic, heuristicCode);
+                local.heuristicEnd(t);
+                int g = current.cost + Move.amount(code);
+                if (g + h >= incumbentF) continue;
+
+                State child = new State(next, current, code, g, h);
+                pending.incrementAndGet();
+                int target = owner(next.key());
+                if (target == id) {
+                    receive(child, open, best, local);
+                } else {
+                    inboxes[target].add(child);
+                }
+            }
+            pending.decrementAndGet();
+        }
+    }
+
+    private void receive(State s, BucketQueue<State> open, LongHashMap<State> best, SearchMetrics local) {
+        State known = best.get(s.board.key());
+        if ((known != null && known.cost <= s.cost) || s.cost + s.heuristic >= incumbentF) {
+            if (known != null && known.cost <= s.cost) local.duplicate();
+            pending.decrementAndGet();
+            return;
+        }
+        best.put(s.board.key(), s);
+        open.add(s.cost + s.heuristic, s.cost, s);
+    }
+
+    private synchronized void offerSolution(State goal) {
+        int f = goal.cost + goal.heuristic;
+        if (f < incumbentF) {
+            incumbent = goal;
+            incumbentF = f;
+        }
+    }
+}
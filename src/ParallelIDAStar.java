@@ -0,0 +1,381 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * IDA* paralel: setiap iterasi threshold dibagi menjadi task ForkJoinPool.
+ * Node sampai kedalaman splitDepth diekspansi sebagai task yang mem-fork
+ * task untuk setiap anaknya; di bawah itu satu task menjalankan DFS
+ * berbatas threshold yang sama dengan IDAStar (stack eksplisit, tabel
+ * transposisi). Task yang menganggur dicuri oleh worker lain (work stealing),
+ * jadi subtree yang besar tidak membuat thread lain diam.
+ *
+ * Threshold berikutnya adalah minimum f yang terpotong di semua worker,
+ * digabung lewat AtomicInteger. Goal pertama pada threshold saat ini sudah
+ * optimal (sama seperti IDA* biasa), jadi worker yang menemukannya
+ * menghentikan semua worker lain lewat flag stopped.
+ *
+ * Setiap worker punya tabel transposisi sendiri (tidak perlu lock), sehingga
+ * transposisi antar worker tidak terdeteksi; memorinya tetap kecil dan tetap
+ * per thread.
+ */
+public class ParallelIDAStar extends Solver {
+    // Lebih kecil dari IDAStar karena ada satu tabel per worker
+    private static final int DEFAULT_TABLE_SIZE = 1 << 16;
+    private static final int DEFAULT_SPLIT_DEPTH = 3;
+
+    private static final int PRUNED = 0;
+    private static final int EXPANDED = 1;
+    private static final int GOAL = 2;
+
+    private final String heuristicMode;
+    private final int threads;
+    private final int splitDepth;
+
+    private int heuristicCode;
+    private boolean canonical;  // cermin boleh digabung di tabel transposisi
+    private CompactBoard initial;
+    private volatile int iteration;
+    private volatile boolean stopped;
+    private final AtomicInteger nextThreshold = new AtomicInteger();
+    private final AtomicLong expanded = new AtomicLong();
+    private final AtomicReference<int[]> solution = new AtomicReference<>();
+    private ConcurrentLinkedQueue<Worker> registry;
+    private ThreadLocal<Worker> workers;
+
+    public ParallelIDAStar(Board board, String heuristicMode) {
+        this(board, heuristicMode, Runtime.getRuntime().availableProcessors(), DEFAULT_SPLIT_DEPTH);
+    }
+
+    /**
+     * @param splitDepth kedalaman terakhir yang masih dipecah menjadi task per anak
+     */
+    public ParallelIDAStar(Board board, String heuristicMode, int threads, int splitDepth) {
+        super(board);
+        this.heuristicMode = heuristicMode;
+        this.threads = Math.max(1, threads);
+        this.splitDepth = Math.max(0, splitDepth);
+    }
+
+    @Override
+    public void solve() {
+        long startTime = System.currentTimeMillis();
+        initial = CompactBoard.of(startBoard);
+        heuristicCode = Heuristic.modeOf(heuristicMode);
+        // Cermin hanya boleh dianggap transposisi jika heuristic-nya bernilai sama untuk cermin
+        canonical = Heuristic.isSymmetric(heuristicCode);
+        int rootH = Heuristic.estimate(initial, heuristicMode);
+        if (initial.isGoal()) {
+            this.solutionPath = new ArrayList<>();
+            this.executionTimeMs = System.currentTimeMillis() - startTime;
+            return;
+        }
+
+        registry = new ConcurrentLinkedQueue<>();
+        workers = ThreadLocal.withInitial(() -> {
+            Worker w = new Worker();
+            registry.add(w);
+            return w;
+        });
+        iteration = 0;
+        stopped = false;
+        expanded.set(0);
+        solution.set(null);
+
+        int threshold = rootH;
+        long previousExpanded = 0;
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            while (true) {
+                iteration++;
+                metrics.iterations++;
+                metrics.reExpansions += previousExpanded;
+                long expandedBefore = expanded.get();
+                nextThreshold.set(Integer.MAX_VALUE);
+
+                ForkJoinTask<Void> root = pool.submit(new SubtreeTask(new int[0], rootH, threshold));
+                if (!await(root, threshold)) break;
+                if (solution.get() != null || nextThreshold.get() == Integer.MAX_VALUE) break;
+
+                previousExpanded = expanded.get() - expandedBefore;
+                threshold = nextThreshold.get();
+            }
+        } finally {
+            stopped = true;
+            pool.shutdownNow();
+        }
+
+        for (Worker w : registry) {
+            metrics.merge(w.metrics);
+        }
+        int[] moves = solution.get();
+        this.visitedCount = (int) Math.min(Integer.MAX_VALUE, expanded.get());
+        this.executionTimeMs = System.currentTimeMillis() - startTime;
+        if (moves != null) {
+            List<Move> path = new ArrayList<>(moves.length);
+            for (int move : moves) {
+                path.add(Move.of(initial.layout, move));
+            }
+            this.solutionPath = path;
+            stopReason = null;
+        } else if (stopReason == null) {
+            System.out.println("Tidak ada solusi ditemukan.");
+        }
+    }
+
+    /**
+     * Menunggu satu iterasi selesai sambil mengecek budget dan pembatalan dari
+     * thread pemanggil. False jika pencarian harus berhenti.
+     */
+    private boolean await(ForkJoinTask<Void> root, int threshold) {
+        while (true) {
+            try {
+                root.get(20, TimeUnit.MILLISECONDS);
+                return true;
+            } catch (TimeoutException e) {
+                frontierSize = 0;
+                bestBound = threshold;
+                reportProgress(expanded.get());
+                long memory = 0;
+                for (Worker w : registry) memory += w.table.memoryBytes();
+                if (checkLimits(expanded.get(), memory)) {
+                    stopped = true;
+                    return false;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stopReason = "cancelled";
+                stopped = true;
+                return false;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Worker IDA* gagal", e.getCause());
+            }
+        }
+    }
+
+    private void offerSolution(int[] moves) {
+        if (solution.compareAndSet(null, moves)) {
+            stopped = true;
+        }
+    }
+
+    /**
+     * Subtree dengan akar di ujung prefix (gerakan dari state awal). Dekat akar
+     * task ini mem-fork satu task per anak; lebih dalam lagi dijelajahi DFS.
+     */
+    private final class SubtreeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] prefix;
+        private final int h;
+        private final int threshold;
+
+        SubtreeTask(int[] prefix, int h, int threshold) {
+            this.prefix = prefix;
+            this.h = h;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (stopped) return;
+            Worker worker = workers.get();
+            worker.prepare(iteration);
+            MutableBoard board = new MutableBoard(initial);
+            for (int move : prefix) board.apply(move);
+
+            if (prefix.length >= splitDepth) {
+                worker.search(board, prefix, h, threshold);
+                worker.flush();
+                return;
+            }
+
+            // Transposisi dekat akar dipangkas dengan tabel worker ini, sama seperti di DFS
+            if (prefix.length > 0 && worker.table.checkAndStore(canonical ? board.canonicalKey() : board.key(), prefix.length)) {
+                worker.metrics.duplicate();
+                return;
+            }
+
+            // Ekspansi node dekat akar: anak yang lolos threshold menjadi task baru
+            int[] moves = new int[board.maxMoves()];
+            int count = board.generateMoves(moves);
+            worker.countExpansion(prefix.length + h, count, prefix.length + 1);
+            List<SubtreeTask> children = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int move = moves[i];
+                board.apply(move);
+                int childH = worker.estimate(board, move, h);
+                int f = prefix.length + 1 + childH;
+                int[] childPrefix = Arrays.copyOf(prefix, prefix.length + 1);
+                childPrefix[prefix.length] = move;
+                if (f > threshold) {
+                    worker.prune(f);
+                } else if (board.isGoal()) {
+                    offerSolution(childPrefix);
+                } else {
+                    children.add(new SubtreeTask(childPrefix, childH, threshold));
+                }
+                board.undo(move);
+            }
+            worker.flush();
+            if (!stopped) invokeAll(children);
+        }
+    }
+
+    /**
+     * State per thread worker: tabel transposisi, stack DFS, dan statistik.
+     */
+    private final class Worker {
+        final TranspositionTable table = new TranspositionTable(DEFAULT_TABLE_SIZE);
+        final SearchMetrics metrics = new SearchMetrics();
+        int tableIteration;
+        int localThreshold = Integer.MAX_VALUE;
+        long localExpanded;
+
+        int[][] moveBuffers = new int[0][];
+        int[] moveCounts = new int[0];
+        int[] cursors = new int[0];
+        int[] pathMoves = new int[0];
+        int[] hValues = new int[0];
+
+        Worker() {
+            metrics.timeHeuristic = ParallelIDAStar.this.metrics.timeHeuristic;
+        }
+
+        /**
+         * Entri tabel dari iterasi sebelumnya dicatat dengan threshold lebih kecil, jadi dibuang.
+         */
+        void prepare(int currentIteration) {
+            if (tableIteration != currentIteration) {
+                table.clear();
+                tableIteration = currentIteration;
+            }
+        }
+
+        int estimate(MutableBoard board, int move, int parentH) {
+            int piece = Move.piece(move);
+            int from = board.positions()[piece] - Move.delta(move);
+            long t = metrics.heuristicStart();
+            int h = Heuristic.estimate(board.layout, board.positions(), heuristicCode, piece, from, parentH);
+            metrics.heuristicEnd(t);
+            return h;
+        }
+
+        void prune(int f) {
+            if (f < localThreshold) localThreshold = f;
+        }
+
+        void countExpansion(int f, int generated, int depth) {
+            localExpanded++;
+            metrics.expand(f);
+            metrics.generate(generated);
+            metrics.open(depth);
+        }
+
+        /**
+         * Menyalurkan hitungan lokal ke nilai bersama; dipanggil di akhir task
+         * dan secara berkala selama DFS.
+         */
+        void flush() {
+            if (localThreshold != Integer.MAX_VALUE) {
+                nextThreshold.accumulateAndGet(localThreshold, Math::min);
+                localThreshold = Integer.MAX_VALUE;
+            }
+            if (localExpanded != 0) {
+                expanded.addAndGet(localExpanded);
+                localExpanded = 0;
+            }
+        }
+
+        /**
+         * DFS berbatas threshold dari ujung prefix, sama seperti IDAStar.search
+         * tetapi g dihitung mulai dari panjang prefix.
+         */
+        void search(MutableBoard board, int[] prefix, int rootH, int threshold) {
+            int base = prefix.length;
+            int status = enter(board, 0, base, threshold, rootH);
+            if (status == GOAL) {
+                offerSolution(prefix);
+                return;
+            }
+            if (status == PRUNED) return;
+
+            int depth = 0;
+            while (depth >= 0) {
+                if (stopped) return;
+                if (cursors[depth] < moveCounts[depth]) {
+                    int move = moveBuffers[depth][cursors[depth]++];
+                    board.apply(move);
+                    pathMoves[depth] = move;
+
+                    status = enter(board, depth + 1, base, threshold, 0);
+                    if (status == GOAL) {
+                        int[] moves = Arrays.copyOf(prefix, base + depth + 1);
+                        System.arraycopy(pathMoves, 0, moves, base, depth + 1);
+                        offerSolution(moves);
+                        return;
+                    }
+                    if (status == EXPANDED) {
+                        depth++;
+                        if ((localExpanded & 1023) == 0) flush();
+                    } else {
+                        board.undo(move);
+                    }
+                } else {
+                    depth--;
+                    if (depth >= 0) board.undo(pathMoves[depth]);
+                }
+            }
+        }
+
+        private int enter(MutableBoard board, int depth, int base, int threshold, int rootH) {
+            int h = depth == 0 ? rootH : estimate(board, pathMoves[depth - 1], hValues[depth - 1]);
+            int f = base + depth + h;
+            if (f > threshold) {
+                prune(f);
+                return PRUNED;
+            }
+
+            if (board.isGoal()) {
+                return GOAL;
+            }
+
+            if (table.checkAndStore(canonical ? board.canonicalKey() : board.key(), base + depth)) {
+                metrics.duplicate();
+                return PRUNED;
+            }
+
+            if (depth >= moveBuffers.length) growStack(depth, board.maxMoves());
+            hValues[depth] = h;
+            moveCounts[depth] = board.generateMoves(moveBuffers[depth]);
+            cursors[depth] = 0;
+            countExpansion(f, moveCounts[depth], base + depth + 1);
+            return EXPANDED;
+        }
+
+        private void growStack(int depth, int maxMoves) {
+            int size = Math.max(16, moveBuffers.length * 2);
+            while (size <= depth) size *= 2;
+            int[][] buffers = new int[size][];
+            System.arraycopy(moveBuffers, 0, buffers, 0, moveBuffers.length);
+            for (int i = moveBuffers.length; i < size; i++) {
+                buffers[i] = new int[maxMoves];
+            }
+            moveBuffers = buffers;
+            moveCounts = Arrays.copyOf(moveCounts, size);
+            cursors = Arrays.copyOf(cursors, size);
+            pathMoves = Arrays.copyOf(pathMoves, size);
+            hValues = Arrays.copyOf(hValues, size);
+        }
+    }
+}
@@ -0,0 +1,392 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pattern database untuk heuristic A*. Abstraksinya hanya berisi primary piece
+ * dan sebagian kendaraan yang jalurnya memotong (atau sejajar di) jalur primary;
+ * kendaraan lain dihapus. Jarak tepat di ruang abstrak tidak pernah melebihi
+ * jarak sebenarnya, jadi nilainya admissible untuk biaya per sel.
+ *
+ * Tabel dibangun offline dengan BFS mundur dari semua state goal abstrak dan
+ * disimpan sebagai nibble (4 bit per state, nilai dibatasi 15). Saat solve,
+ * file di-memory-map lewat FileChannel.map sehingga tabel tidak perlu dibaca
+ * atau dideserialisasi.
+ *
+ * Format file (big-endian):
+ *   int magic, int version, int rows, int cols, int exitRow, int exitCol, int k,
+ *   k x (char id, byte horizontal, byte length, byte lane), long entries,
+ *   lalu ceil(entries / 2) byte nibble.
+ */
+public class PatternDatabase {
+    private static final int MAGIC = 0x52485044;  // "RHPD"
+    private static final int VERSION = 1;
+    private static final int MAX_VALUE = 15;
+    private static final long MAX_ENTRIES = 1L << 28;
+    public static final int DEFAULT_PIECES = 6;
+
+    private final int rows, cols, exitRow, exitCol;
+    private final char[] ids;
+    private final boolean[] horizontal;
+    private final int[] length;
+    private final int[] lane;
+    private final long[] radix;      // bobot mixed-radix tiap piece pola
+    private final ByteBuffer table;  // nibble, dimulai dari offset 0
+
+    private PatternDatabase(int rows, int cols, int exitRow, int exitCol,
+                            char[] ids, boolean[] horizontal, int[] length, int[] lane, ByteBuffer table) {
+        this.rows = rows;
+        this.cols = cols;
+        this.exitRow = exitRow;
+        this.exitCol = exitCol;
+        this.ids = ids;
+        this.horizontal = horizontal;
+        this.length = length;
+        this.lane = lane;
+        this.radix = new long[ids.length];
+        long weight = 1;
+        for (int i = ids.length - 1; i >= 0; i--) {
+            radix[i] = weight;
+            weight *= positions(i);
+        }
+        this.table = table;
+    }
+
+    private int positions(int i) {
+        return (horizontal[i] ? cols : rows) - length[i] + 1;
+    }
+
+    private long entries() {
+        return radix.length == 0 ? 1 : radix[0] * positions(0);
+    }
+
+    /**
+     * Memetakan file pattern database ke memori (read-only, tanpa salinan).
+     */
+    public static PatternDatabase open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Bukan file pattern database yang valid: " + file);
+            }
+            int rows = buffer.getInt(), cols = buffer.getInt();
+            int exitRow = buffer.getInt(), exitCol = buffer.getInt();
+            int k = buffer.getInt();
+            char[] ids = new char[k];
+            boolean[] horizontal = new boolean[k];
+            int[] length = new int[k];
+            int[] lane = new int[k];
+            for (int i = 0; i < k; i++) {
+                ids[i] = buffer.getChar();
+                horizontal[i] = buffer.get() != 0;
+                length[i] = buffer.get();
+                lane[i] = buffer.get();
+            }
+            long entries = buffer.getLong();
+            ByteBuffer table = buffer.slice();
+            PatternDatabase db = new PatternDatabase(rows, cols, exitRow, exitCol, ids, horizontal, length, lane, table);
+            if (db.entries() != entries || table.capacity() < (entries + 1) / 2) {
+                throw new IOException("Ukuran tabel pattern database tidak sesuai: " + file);
+            }
+            return db;
+        }
+    }
+
+    /**
+     * Nilai heuristic untuk state penuh. Layout harus memiliki piece pola dengan
+     * id, orientasi, panjang, dan jalur yang sama dengan saat database dibangun.
+     */
+    public int lookup(BoardLayout layout, byte[] pos) {
+        int[] index = mappingFor(layout).index;
+        long entry = 0;
+        for (int i = 0; i < index.length; i++) {
+            entry += pos[index[i]] * radix[i];
+        }
+        int b = table.get((int) (entry >>> 1));
+        return (entry & 1) == 0 ? b & 0x0F : (b >>> 4) & 0x0F;
+    }
+
+    /**
+     * True jika piece layout termasuk piece pola; piece lain tidak mengubah nilai lookup.
+     */
+    public boolean covers(BoardLayout layout, int piece) {
+        return mappingFor(layout).covered[piece];
+    }
+
+    /**
+     * Pemetaan yang sudah diverifikasi disimpan di layout itu sendiri, jadi
+     * setiap layout membayar mapLayout sekali per database, berapa pun jumlah
+     * thread yang mencari papan lain dengan database yang sama.
+     */
+    private Mapping mappingFor(BoardLayout layout) {
+        Mapping current = layout.patternMapping;
+        if (current == null || current.database != this) {
+            current = new Mapping(this, layout, mapLayout(layout));
+            layout.patternMapping = current;
+        }
+        return current;
+    }
+
+    static final class Mapping {
+        final PatternDatabase database;
+        final int[] index;        // indeks piece pola -> indeks piece di layout
+        final boolean[] covered;  // indeks piece di layout -> termasuk pola
+
+        Mapping(PatternDatabase database, BoardLayout layout, int[] index) {
+            this.database = database;
+            this.index = index;
+            this.covered = new boolean[layout.pieceCount];
+            for (int i : index) covered[i] = true;
+        }
+    }
+
+    private int[] mapLayout(BoardLayout layout) {
+        if (layout.rows != rows || layout.cols != cols || layout.exitRow != exitRow || layout.exitCol != exitCol) {
+            throw new IllegalArgumentException("Pattern database dibangun untuk papan dengan ukuran atau pintu keluar berbeda.");
+        }
+        int[] index = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            int j = layout.indexOf(ids[i]);
+            if (j < 0 || layout.isHorizontal(j) != horizontal[i] || layout.length(j) != length[i] || layout.lane(j) != lane[i]) {
+                throw new IllegalArgumentException("Kendaraan " + ids[i] + " tidak cocok dengan pattern database.");
+            }
+            index[i] = j;
+        }
+        if (index.length == 0 || index[0] != layout.primaryIndex) {
+            throw new IllegalArgumentException("Primary piece tidak cocok dengan pattern database.");
+        }
+        return index;
+    }
+
+    /**
+     * Memilih piece pola: primary piece dulu, lalu kendaraan tegak lurus yang
+     * saat ini menghalangi, kendaraan tegak lurus lain yang jalurnya memotong
+     * area antara primary dan pintu keluar, dan kendaraan sejajar di jalur yang
+     * sama. Slot sisa diisi kendaraan yang menghalangi piece pola tersebut.
+     * Berhenti di maxPieces atau saat tabel melebihi MAX_ENTRIES.
+     */
+    static int[] selectPieces(CompactBoard board, int maxPieces) {
+        BoardLayout layout = board.layout;
+        int p = layout.primaryIndex;
+        boolean primaryHorizontal = layout.isHorizontal(p);
+        int primaryLane = layout.lane(p);
+        int exitPos = primaryHorizontal ? layout.exitCol : layout.exitRow;
+        int tail = board.position(p) + layout.length(p) - 1;
+        int zoneLow = Math.min(tail + 1, exitPos + 1), zoneHigh = Math.max(board.position(p) - 1, exitPos - 1);
+
+        List<Integer> blocking = new ArrayList<>(), crossing = new ArrayList<>(), parallel = new ArrayList<>();
+        for (int i = 0; i < layout.pieceCount; i++) {
+            if (i == p) continue;
+            if (layout.isHorizontal(i) == primaryHorizontal) {
+                if (layout.lane(i) == primaryLane) parallel.add(i);
+                continue;
+            }
+            if (layout.lane(i) < zoneLow || layout.lane(i) > zoneHigh) continue;
+            int start = board.position(i), end = start + layout.length(i) - 1;
+            if (start <= primaryLane && primaryLane <= end) {
+                blocking.add(i);
+            } else {
+                crossing.add(i);
+            }
+        }
+
+        List<Integer> chosen = new ArrayList<>();
+        chosen.add(p);
+        long[] entries = {layout.laneSize(p) - layout.length(p) + 1};
+        for (List<Integer> group : List.of(blocking, crossing, parallel)) {
+            for (int i : group) {
+                if (!tryAdd(layout, chosen, i, maxPieces, entries)) break;
+            }
+        }
+
+        // Sisa slot diisi blockers of blockers: kendaraan yang menempati jalur piece pola
+        for (int c = 1; c < chosen.size() && chosen.size() < maxPieces; c++) {
+            int owner = chosen.get(c);
+            for (int i = 0; i < layout.pieceCount; i++) {
+                if (!chosen.contains(i) && occupiesLane(board, i, owner)) {
+                    tryAdd(layout, chosen, i, maxPieces, entries);
+                }
+            }
+        }
+        return chosen.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static boolean tryAdd(BoardLayout layout, List<Integer> chosen, int piece, int maxPieces, long[] entries) {
+        long next = entries[0] * (layout.laneSize(piece) - layout.length(piece) + 1);
+        if (chosen.size() >= maxPieces || next > MAX_ENTRIES) return false;
+        chosen.add(piece);
+        entries[0] = next;
+        return true;
+    }
+
+    /**
+     * True jika piece saat ini menempati salah satu sel di jalur owner.
+     */
+    private static boolean occupiesLane(CompactBoard board, int piece, int owner) {
+        BoardLayout layout = board.layout;
+        int start = board.position(piece), end = start + layout.length(piece) - 1;
+        if (layout.isHorizontal(piece) == layout.isHorizontal(owner)) {
+            return layout.lane(piece) == layout.lane(owner);
+        }
+        return start <= layout.lane(owner) && layout.lane(owner) <= end;
+    }
+
+    /**
+     * Membangun pattern database untuk papan ini dan menulisnya ke file.
+     */
+    public static void build(Board board, int maxPieces, File out) throws IOException {
+        CompactBoard start = CompactBoard.of(board);
+        BoardLayout layout = start.layout;
+        if (layout.primaryIndex < 0) {
+            throw new IllegalArgumentException("Primary piece (P) tidak ditemukan di papan!");
+        }
+        int[] pieces = selectPieces(start, maxPieces);
+        int k = pieces.length;
+        char[] ids = new char[k];
+        boolean[] horizontal = new boolean[k];
+        int[] length = new int[k];
+        int[] lane = new int[k];
+        for (int i = 0; i < k; i++) {
+            ids[i] = layout.id(pieces[i]);
+            horizontal[i] = layout.isHorizontal(pieces[i]);
+            length[i] = layout.length(pieces[i]);
+            lane[i] = layout.lane(pieces[i]);
+        }
+        PatternDatabase shape = new PatternDatabase(layout.rows, layout.cols, layout.exitRow, layout.exitCol,
+                ids, horizontal, length, lane, null);
+        byte[] nibbles = shape.retrogradeBfs();
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(out)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(layout.rows);
+            output.writeInt(layout.cols);
+            output.writeInt(layout.exitRow);
+            output.writeInt(layout.exitCol);
+            output.writeInt(k);
+            for (int i = 0; i < k; i++) {
+                output.writeChar(ids[i]);
+                output.writeByte(horizontal[i] ? 1 : 0);
+                output.writeByte(length[i]);
+                output.writeByte(lane[i]);
+            }
+            output.writeLong(shape.entries());
+            output.write(nibbles);
+        }
+    }
+
+    /**
+     * BFS mundur dari semua goal abstrak dengan gerakan satu sel. Menggeser
+     * sejauh n sel sama dengan n gerakan satu sel berturut-turut, jadi hasil
+     * BFS sama dengan jarak biaya per sel.
+     *
+     * BFS langsung mengisi tabel nibble yang akan ditulis, tanpa antrian:
+     * lapisan d adalah semua entri bernilai d, dan setiap putaran memindai
+     * tabel untuk mengembangkannya. Nilai tersimpan dibatasi MAX_VALUE, jadi
+     * MAX_VALUE sekaligus berarti "belum dikunjungi" dan BFS berhenti di
+     * lapisan MAX_VALUE - 1; state yang lebih jauh, tidak valid, atau tidak
+     * terjangkau tetap bernilai MAX_VALUE. Memori puncaknya hanya tabel itu
+     * sendiri (MAX_ENTRIES / 2 byte), bukan antrian int per state.
+     */
+    private byte[] retrogradeBfs() {
+        int n = (int) entries();
+        int k = ids.length;
+        byte[] table = new byte[(n + 1) / 2];
+        Arrays.fill(table, (byte) (MAX_VALUE | (MAX_VALUE << 4)));
+
+        int exitPos = horizontal[0] ? exitCol : exitRow;
+        int exitLane = horizontal[0] ? exitRow : exitCol;
+        int goalPos = exitPos - length[0];
+        int[] pos = new int[k];
+        boolean[] occ = new boolean[rows * cols];
+
+        boolean found = false;
+        if (exitLane == lane[0] && goalPos >= 0 && goalPos < positions(0)) {
+            for (int index = 0; index < n; index++) {
+                decode(index, pos);
+                if (pos[0] == goalPos && fill(pos, occ)) {
+                    setNibble(table, index, 0);
+                    found = true;
+                }
+            }
+        }
+
+        for (int d = 0; found && d + 1 < MAX_VALUE; d++) {
+            found = false;
+            for (int index = 0; index < n; index++) {
+                if (nibble(table, index) != d) continue;
+                decode(index, pos);
+                fill(pos, occ);
+                for (int i = 0; i < k; i++) {
+                    for (int step = -1; step <= 1; step += 2) {
+                        int cell = step < 0 ? pos[i] - 1 : pos[i] + length[i];
+                        if (cell < 0 || cell >= (horizontal[i] ? cols : rows)) continue;
+                        if (occ[cellIndex(i, cell)]) continue;
+                        int next = (int) (index + step * radix[i]);
+                        if (nibble(table, next) != MAX_VALUE) continue;
+                        setNibble(table, next, d + 1);
+                        found = true;
+                    }
+                }
+            }
+        }
+        return table;
+    }
+
+    private static int nibble(byte[] table, int index) {
+        int b = table[index >>> 1];
+        return (index & 1) == 0 ? b & 0x0F : (b >>> 4) & 0x0F;
+    }
+
+    private static void setNibble(byte[] table, int index, int value) {
+        int i = index >>> 1;
+        table[i] = (byte) ((index & 1) == 0 ? (table[i] & 0xF0) | value : (table[i] & 0x0F) | (value << 4));
+    }
+
+    private void decode(long index, int[] pos) {
+        for (int i = 0; i < pos.length; i++) {
+            pos[i] = (int) (index / radix[i]);
+            index %= radix[i];
+        }
+    }
+
+    /**
+     * Mengisi grid okupansi; mengembalikan false jika ada piece yang bertumpuk.
+     */
+    private boolean fill(int[] pos, boolean[] occ) {
+        Arrays.fill(occ, false);
+        for (int i = 0; i < pos.length; i++) {
+            for (int j = 0; j < length[i]; j++) {
+                int c = cellIndex(i, pos[i] + j);
+                if (occ[c]) return false;
+                occ[c] = true;
+            }
+        }
+        return true;
+    }
+
+    private int cellIndex(int piece, int along) {
+        return horizontal[piece] ? lane[piece] * cols + along : along * cols + lane[piece];
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Penggunaan: java PatternDatabase <file puzzle> <file output> [jumlah piece]");
+            return;
+        }
+        int maxPieces = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_PIECES;
+        long start = System.currentTimeMillis();
+        build(PuzzleFile.read(new File(args[0])), maxPieces, new File(args[1]));
+        System.out.println("Pattern database ditulis ke " + args[1] + " dalam " + (System.currentTimeMillis() - start) + " ms");
+    }
+}
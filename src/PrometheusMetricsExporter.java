@@ -0,0 +1,161 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Menulis SearchMetrics ke file teks format Prometheus (untuk textfile
+ * collector node_exporter). Solve dijumlahkan per pasangan algoritma dan
+ * heuristic, jadi jumlah deret waktu dibatasi oleh jumlah kombinasi itu,
+ * bukan oleh jumlah puzzle: batch panjang tidak membuat file (dan memori
+ * exporter) terus membesar. Nilai per puzzle tersedia di baris hasil BatchMain
+ * dan event JFR.
+ *
+ * Mencatat hasil hanya menambah agregat di memori, jadi thread solver tidak
+ * pernah menunggu I/O. File baru ditulis saat flush() dipanggil (berkala
+ * dan di akhir batch oleh BatchMain), seluruhnya lewat file sementara lalu
+ * rename, jadi collector tidak pernah membaca file setengah jadi.
+ */
+public class PrometheusMetricsExporter {
+    private final Path file;
+    private final Map<String, Aggregate> samples = new LinkedHashMap<>();  // dijaga oleh this
+    private final Object writeLock = new Object();
+    private boolean dirty;
+
+    public PrometheusMetricsExporter(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Listener untuk satu solver dengan algoritma dan heuristic tertentu.
+     */
+    public Solver.MetricsListener forSolve(String algo, String heuristic) {
+        String labels = "algo=\"" + escape(algo) + "\",heuristic=\"" + escape(heuristic) + "\"";
+        return (solver, result, metrics) -> record(labels, result, metrics);
+    }
+
+    private synchronized void record(String labels, SolveResult result, SearchMetrics metrics) {
+        samples.computeIfAbsent(labels, k -> new Aggregate()).add(result, metrics);
+        dirty = true;
+    }
+
+    /**
+     * Menulis semua agregat ke file jika ada yang berubah sejak flush terakhir.
+     * Kegagalan I/O hanya dilaporkan ke stderr dan dicoba lagi di flush berikutnya.
+     */
+    public void flush() {
+        synchronized (writeLock) {
+            String text;
+            synchronized (this) {
+                if (!dirty) return;
+                text = render();
+                dirty = false;
+            }
+            try {
+                Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+                Files.write(tmp, text.getBytes(StandardCharsets.UTF_8));
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                System.err.println("Metrik tidak dapat ditulis ke " + file + ": " + e.getMessage());
+                synchronized (this) {
+                    dirty = true;
+                }
+            }
+        }
+    }
+
+    private String render() {
+        StringBuilder sb = new StringBuilder();
+        metric(sb, "rushhour_solves_total", "counter", "Jumlah solve", a -> a.solves);
+        metric(sb, "rushhour_solved_total", "counter", "Jumlah solve yang menemukan solusi", a -> a.solved);
+        metric(sb, "rushhour_nodes_expanded_total", "counter", "Node yang diekspansi", a -> a.expanded);
+        metric(sb, "rushhour_nodes_generated_total", "counter", "Successor yang dibangkitkan", a -> a.generated);
+        metric(sb, "rushhour_nodes_duplicate_total", "counter", "Node yang dibuang sebagai duplikat", a -> a.duplicates);
+        metric(sb, "rushhour_nodes_reexpanded_total", "counter", "Node yang diekspansi ulang", a -> a.reExpansions);
+        metric(sb, "rushhour_open_peak", "gauge", "Ukuran maksimum open list di satu solve", a -> a.peakOpen);
+        metric(sb, "rushhour_closed_peak", "gauge", "Ukuran maksimum closed set di satu solve", a -> a.peakClosed);
+        metric(sb, "rushhour_successors_per_expansion", "gauge", "Rata-rata successor per ekspansi",
+                a -> a.expanded == 0 ? 0 : (double) a.generated / a.expanded);
+        metric(sb, "rushhour_branching_factor", "gauge",
+                "Rata-rata effective branching factor b*, N = b* + b*^2 + ... + b*^d, atas solve yang menemukan solusi",
+                a -> a.solved == 0 ? 0 : a.branchingSum / a.solved);
+        metric(sb, "rushhour_heuristic_calls_total", "counter", "Jumlah evaluasi heuristic", a -> a.heuristicCalls);
+        metric(sb, "rushhour_heuristic_seconds_total", "counter", "Waktu evaluasi heuristic", a -> a.heuristicNanos / 1e9);
+        metric(sb, "rushhour_solve_seconds_total", "counter", "Waktu solve", a -> a.timeMs / 1e3);
+        metric(sb, "rushhour_solution_cost_total", "counter", "Jumlah biaya solusi (dalam sel) atas solve yang menemukan solusi",
+                a -> a.cost);
+
+        sb.append("# HELP rushhour_f_layer_expanded_total Node yang diekspansi per nilai f\n");
+        sb.append("# TYPE rushhour_f_layer_expanded_total counter\n");
+        for (Map.Entry<String, Aggregate> e : samples.entrySet()) {
+            long[] layers = e.getValue().fLayers;
+            for (int f = 0; f < layers.length; f++) {
+                if (layers[f] == 0) continue;
+                sb.append("rushhour_f_layer_expanded_total{").append(e.getKey()).append(",f=\"").append(f).append("\"} ")
+                        .append(layers[f]).append('\n');
+            }
+        }
+
+        return sb.toString();
+    }
+
+    private interface Value {
+        double of(Aggregate a);
+    }
+
+    private void metric(StringBuilder sb, String name, String type, String help, Value value) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        for (Map.Entry<String, Aggregate> e : samples.entrySet()) {
+            double v = value.of(e.getValue());
+            sb.append(name).append('{').append(e.getKey()).append("} ");
+            if (v == Math.rint(v) && Math.abs(v) < 1e15) sb.append((long) v);
+            else sb.append(v);
+            sb.append('\n');
+        }
+    }
+
+    private static String escape(String s) {
+        return s.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Jumlahan semua solve untuk satu pasangan algoritma dan heuristic.
+     */
+    private static final class Aggregate {
+        long solves, solved;
+        long expanded, generated, duplicates, reExpansions;
+        int peakOpen, peakClosed;
+        double branchingSum;
+        long heuristicCalls, heuristicNanos;
+        long timeMs, cost;
+        long[] fLayers = new long[0];
+
+        void add(SolveResult result, SearchMetrics metrics) {
+            solves++;
+            expanded += metrics.getExpanded();
+            generated += metrics.getGenerated();
+            duplicates += metrics.getDuplicates();
+            reExpansions += metrics.getReExpansions();
+            peakOpen = Math.max(peakOpen, metrics.getPeakOpen());
+            peakClosed = Math.max(peakClosed, metrics.getPeakClosed());
+            heuristicCalls += metrics.getHeuristicCalls();
+            heuristicNanos += metrics.getHeuristicNanos();
+            timeMs += result.timeMs;
+            if (result.isSolved()) {
+                solved++;
+                cost += result.cost();
+                branchingSum += metrics.branchingFactor();
+            }
+            long[] layers = metrics.fHistogram();
+            if (layers.length > fLayers.length) fLayers = Arrays.copyOf(fLayers, layers.length);
+            for (int f = 0; f < layers.length; f++) {
+                fLayers[f] += layers[f];
+            }
+        }
+    }
+}
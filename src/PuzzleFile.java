@@ -0,0 +1,80 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Membaca file puzzle dengan format yang sama seperti Main: baris dimensi,
+ * jumlah kendaraan, lalu konfigurasi papan dengan 'K' sebagai pintu keluar.
+ * Dipakai oleh alat non-interaktif; kesalahan dilaporkan lewat exception.
+ */
+public class PuzzleFile {
+    public static Board read(File file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String first = reader.readLine();
+            if (first == null) {
+                throw new IllegalArgumentException("File kosong.");
+            }
+            String[] dim = first.trim().split("\\s+");
+            if (dim.length < 2) {
+                throw new IllegalArgumentException("Format baris pertama tidak valid.");
+            }
+            int rows = Integer.parseInt(dim[0]);
+            int cols = Integer.parseInt(dim[1]);
+
+            String countLine = reader.readLine();
+            if (countLine == null) {
+                throw new IllegalArgumentException("Jumlah kendaraan tidak ditemukan.");
+            }
+            Integer.parseInt(countLine.trim());
+
+            List<String> lines = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.trim().isEmpty()) {
+                    lines.add(line);
+                }
+            }
+            if (lines.size() != rows) {
+                throw new IllegalArgumentException("File harus berisi tepat " + rows + " baris konfigurasi.");
+            }
+
+            String[] config = new String[rows];
+            for (int i = 0; i < rows; i++) {
+                String l = lines.get(i);
+                if (l.length() < cols) {
+                    l = String.format("%-" + cols + "s", l).replace(' ', '.');
+                } else if (l.length() > cols) {
+                    l = l.substring(0, cols);
+                }
+                config[i] = l;
+            }
+
+            int exitRow = -1, exitCol = -1;
+            for (int i = 0; i < lines.size(); i++) {
+                int kIndex = lines.get(i).indexOf('K');
+                if (kIndex >= 0) {
+                    exitRow = i;
+                    exitCol = kIndex;
+                    break;
+                }
+            }
+            if (exitRow == -1) {
+                throw new IllegalArgumentException("Pintu keluar (K) tidak ditemukan di papan!");
+            }
+            if (exitRow < rows && exitCol < cols) {
+                throw new IllegalArgumentException("Pintu keluar (K) harus berada di luar grid!");
+            }
+
+            Board board = new Board(config);
+            board.exitRow = exitRow;
+            board.exitCol = exitCol;
+            if (board.primaryPiece == null) {
+                throw new IllegalArgumentException("Primary piece (P) tidak ditemukan di papan!");
+            }
+            return board;
+        }
+    }
+}
@@ -0,0 +1,381 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Simplified Memory-bounded A* (SMA*): A* dengan batas jumlah node di memori.
+ *
+ * Pohon pencarian disimpan eksplisit (setiap node tahu anak-anaknya). Node
+ * terbaik membangkitkan satu successor per langkah; jika jumlah node melewati
+ * batas, leaf terburuk (f terbesar, paling dangkal) dibuang dan f-nya dicatat
+ * di slot parent ("forgotten"), sehingga parent tahu kapan cabang itu layak
+ * dibangkitkan ulang. Setelah semua successor sebuah node pernah dibangkitkan,
+ * f node menjadi minimum f anak-anaknya (backup) dan diteruskan ke atas.
+ *
+ * Cabang yang dibangkitkan ulang mendapat kembali f yang diingat parent,
+ * jadi subtree yang sudah terbukti lebih mahal tidak diekspansi ulang dengan
+ * f lamanya.
+ *
+ * Solusi tetap optimal selama jalur optimal muat di batas node (kedalaman
+ * jalur lebih kecil dari batas). Successor yang sudah punya salinan dengan g
+ * dan kedalaman tidak lebih besar tidak dibangkitkan. Salinan itu dicari di
+ * node yang sedang ada di memori dan di tabel "seen" berukuran tetap (g,
+ * kedalaman, dan state parent terbaik per state), yang tetap mengingat
+ * transposisi setelah node-nya dibuang. Tanpa tabel itu pohon pencarian
+ * meledak begitu pruning dimulai, karena urutan gerakan yang berbeda menuju
+ * state yang sama dijelajahi ulang satu per satu.
+ */
+public class SMAStar extends Solver {
+    private static final int INFINITY = Integer.MAX_VALUE;
+    private static final int UNGENERATED = -1;
+    private static final int DEFAULT_MAX_NODES = 1_000_000;
+    // Entri tabel seen per node (kunci state, kunci parent, g, kedalaman: 24 byte)
+    private static final int SEEN_PER_NODE = 16;
+    private static final int SEEN_ENTRY_BYTES = 24;
+    private static final int MAX_SEEN = 1 << 22;
+
+    private final String heuristicMode;
+    private final int configuredMaxNodes;  // <= 0: dihitung dari budget memori
+
+    private int heuristicCode;
+    private int maxNodes;
+    private long nodeBytes;
+    private long nextId;
+    private int nodeCount;
+    private boolean truncated;  // ada cabang yang dibuang atau dipotong batas kedalaman
+    private TreeSet<Node> open;
+    private LongHashMap<Node> inMemory;
+    private long[] seenKeys;
+    private long[] seenParents;
+    private int[] seenG;
+    private int[] seenDepths;  // kedalaman; 0 berarti slot kosong (root tidak pernah dicatat)
+    private int seenMask;
+
+    public SMAStar(Board board, String heuristicMode) {
+        this(board, heuristicMode, 0);
+    }
+
+    /**
+     * @param maxNodes batas node di memori; 0 berarti diturunkan dari budget
+     *                 memori (atau 1 juta node jika budget tidak dibatasi)
+     */
+    public SMAStar(Board board, String heuristicMode, int maxNodes) {
+        super(board);
+        this.heuristicMode = heuristicMode;
+        this.configuredMaxNodes = maxNodes;
+    }
+
+    private static final class Node {
+        final CompactBoard board;
+        final Node parent;
+        final int move;   // kode gerakan dari parent
+        final int slot;   // indeks di parent.children
+        final int g;
+        final int h;
+        final int depth;
+        final long id;    // urutan pembuatan, pemutus seri di open list
+        int f;
+        boolean inOpen;
+
+        int[] moves;      // null sampai node pertama kali dipilih
+        Node[] children;
+        int[] forgotten;  // f terakhir anak per slot, UNGENERATED jika belum pernah dibangkitkan
+        int live;         // jumlah anak yang sedang ada di memori
+
+        Node(CompactBoard board, Node parent, int move, int slot, int g, int h, int f, long id) {
+            this.board = board;
+            this.parent = parent;
+            this.move = move;
+            this.slot = slot;
+            this.g = g;
+            this.h = h;
+            this.f = f;
+            this.depth = parent == null ? 0 : parent.depth + 1;
+            this.id = id;
+        }
+
+        List<Move> path() {
+            List<Move> path = new ArrayList<>(depth);
+            for (Node n = this; n.parent != null; n = n.parent) {
+                path.add(Move.of(n.board.layout, n.move));
+            }
+            Collections.reverse(path);
+            return path;
+        }
+    }
+
+    @Override
+    public void solve() {
+        long startTime = System.currentTimeMillis();
+        CompactBoard initial = CompactBoard.of(startBoard);
+        MoveGenerator generator = new MoveGenerator(initial.layout);
+        heuristicCode = Heuristic.modeOf(heuristicMode);
+        nodeBytes = stateBytes(initial.layout) + 12L * MoveGenerator.maxMoves(initial.layout)
+                + (long) SEEN_PER_NODE * SEEN_ENTRY_BYTES;
+        maxNodes = configuredMaxNodes > 0 ? configuredMaxNodes
+                : budget.maxMemoryBytes == Long.MAX_VALUE ? DEFAULT_MAX_NODES
+                : (int) Math.min(Integer.MAX_VALUE, budget.maxMemoryBytes / nodeBytes);
+        maxNodes = Math.max(2, maxNodes);
+
+        // Urut f naik, lalu node terdalam dulu; ujung belakang adalah kandidat untuk dibuang
+        open = new TreeSet<>((a, b) -> {
+            if (a.f != b.f) return Integer.compare(a.f, b.f);
+            if (a.depth != b.depth) return Integer.compare(b.depth, a.depth);
+            return Long.compare(a.id, b.id);
+        });
+        inMemory = new LongHashMap<>();
+        int seenSize = Integer.highestOneBit((int) Math.min(MAX_SEEN, Math.max(16L, (long) SEEN_PER_NODE * maxNodes)) - 1) << 1;
+        seenKeys = new long[seenSize];
+        seenParents = new long[seenSize];
+        seenG = new int[seenSize];
+        seenDepths = new int[seenSize];
+        seenMask = seenSize - 1;
+        nextId = 0;
+        truncated = false;
+
+        int h0 = Heuristic.estimate(initial, heuristicMode);
+        Node root = new Node(initial, null, 0, -1, 0, h0, h0, nextId++);
+        addOpen(root);
+        inMemory.put(initial.key(), root);
+        nodeCount = 1;
+        int nodesVisited = 0;
+
+        while (!open.isEmpty()) {
+            Node best = open.first();
+            if (best.f == INFINITY) break;
+            nodesVisited++;
+            metrics.expand(best.f);
+
+            if (best.board.isGoal()) {
+                this.solutionPath = best.path();
+                this.visitedCount = nodesVisited;
+                this.executionTimeMs = System.currentTimeMillis() - startTime;
+                return;
+            }
+            if (shouldStop(nodesVisited, nodeCount * nodeBytes, open.size(), best.f)) break;
+
+            if (best.moves == null) {
+                int count = generator.generate(best.board);
+                metrics.generate(count);
+                best.moves = new int[count];
+                for (int i = 0; i < count; i++) best.moves[i] = generator.move(i);
+                best.children = new Node[count];
+                best.forgotten = new int[count];
+                Arrays.fill(best.forgotten, UNGENERATED);
+            }
+
+            int slot = nextSlot(best);
+            if (slot < 0) {
+                close(best);
+                continue;
+            }
+            // Buat ruang sebelum successor masuk, jadi successor baru tidak langsung terbuang
+            if (nodeCount >= maxNodes && !pruneWorst(root, best)) {
+                stopReason = "memory";
+                break;
+            }
+            if (best.forgotten[slot] != UNGENERATED) metrics.reExpansions++;
+            generate(best, slot);
+            backup(best);
+            if (nextSlot(best) < 0) close(best);
+            metrics.open(open.size());
+            metrics.closed(nodeCount);
+        }
+
+        this.visitedCount = nodesVisited;
+        this.executionTimeMs = System.currentTimeMillis() - startTime;
+        if (stopReason == null) {
+            if (truncated) {
+                // Masih mungkin ada solusi, tetapi jalurnya tidak muat dalam batas node
+                stopReason = "memory";
+            } else {
+                System.out.println("Tidak ada solusi ditemukan.");
+            }
+        }
+    }
+
+    /**
+     * Slot berikutnya yang perlu dibangkitkan: yang belum pernah dibangkitkan
+     * lebih dulu, lalu slot terlupakan dengan f terkecil. -1 jika tidak ada.
+     */
+    private static int nextSlot(Node n) {
+        int bestSlot = -1;
+        int bestF = INFINITY;
+        for (int i = 0; i < n.moves.length; i++) {
+            if (n.children[i] != null) continue;
+            if (n.forgotten[i] == UNGENERATED) return i;
+            if (n.forgotten[i] < bestF) {
+                bestF = n.forgotten[i];
+                bestSlot = i;
+            }
+        }
+        return bestSlot;
+    }
+
+    private void generate(Node parent, int slot) {
+        int code = parent.moves[slot];
+        CompactBoard board = parent.board.applyMove(code);
+        int g = parent.g + Move.amount(code);
+        int depth = parent.depth + 1;
+
+        if (seenBefore(board.key(), parent.board.key(), g, depth)) {
+            metrics.duplicate();
+            parent.forgotten[slot] = INFINITY;
+            return;
+        }
+        // Salinan lain di memori yang tidak lebih mahal dan tidak lebih dalam membuat cabang ini tidak perlu
+        Node other = inMemory.get(board.key());
+        if (other != null && other.g <= g && other.depth <= depth) {
+            metrics.duplicate();
+            parent.forgotten[slot] = INFINITY;
+            return;
+        }
+        boolean dominates = other == null || (g <= other.g && depth <= other.depth);
+        if (other != null && dominates && other.live == 0 && other.parent != null) {
+            // Salinan lama kalah di g dan kedalaman, dan belum punya anak: lepaskan dari pohon
+            metrics.duplicate();
+            Node otherParent = other.parent;
+            detach(other, INFINITY);
+            backup(otherParent);
+        }
+
+        long t = metrics.heuristicStart();
+        int h = Heuristic.estimate(board, code, parent.h, heuristicCode);
+        metrics.heuristicEnd(t);
+        int f = Math.max(parent.f, g + h);
+        // Cabang yang dibangkitkan ulang membawa kembali f hasil backup sebelum dibuang
+        if (parent.forgotten[slot] != UNGENERATED) f = Math.max(f, parent.forgotten[slot]);
+        if (depth >= maxNodes - 1 && !board.isGoal()) {
+            // Jalur lebih panjang dari ini tidak muat di memori
+            f = INFINITY;
+            truncated = true;
+        }
+
+        Node child = new Node(board, parent, code, slot, g, h, f, nextId++);
+        parent.children[slot] = child;
+        parent.forgotten[slot] = f;
+        parent.live++;
+        nodeCount++;
+        remember(board.key(), parent.board.key(), g, depth);
+        if (other == null || g < other.g) inMemory.put(board.key(), child);
+        addOpen(child);
+    }
+
+    /**
+     * True jika tabel seen mencatat salinan state ini yang tidak lebih mahal
+     * dan tidak lebih dalam, kecuali salinan yang sama persis dari state
+     * parent yang sama (itu cabang terlupakan yang sedang dibangkitkan ulang).
+     * Salinan tercatat selalu pernah dibangkitkan, jadi masih ada di memori
+     * atau sebagai slot terlupakan di parent-nya.
+     */
+    private boolean seenBefore(long key, long parentKey, int g, int depth) {
+        int i = seenIndex(key);
+        return seenDepths[i] != 0 && seenKeys[i] == key && seenG[i] <= g && seenDepths[i] <= depth
+                && (seenG[i] < g || seenDepths[i] < depth || seenParents[i] != parentKey);
+    }
+
+    /**
+     * Mencatat salinan yang baru dibangkitkan, kecuali entri lama untuk state
+     * yang sama lebih baik di g atau kedalaman. State lain di slot yang sama ditimpa.
+     */
+    private void remember(long key, long parentKey, int g, int depth) {
+        int i = seenIndex(key);
+        if (seenDepths[i] != 0 && seenKeys[i] == key && (seenG[i] < g || seenDepths[i] < depth)) return;
+        seenKeys[i] = key;
+        seenParents[i] = parentKey;
+        seenG[i] = g;
+        seenDepths[i] = depth;
+    }
+
+    private int seenIndex(long key) {
+        return (int) (key ^ (key >>> 32)) & seenMask;
+    }
+
+    /**
+     * Setelah semua slot pernah dibangkitkan, f node = minimum f anak (di
+     * memori maupun terlupakan). Perubahan diteruskan ke ancestor.
+     */
+    private void backup(Node n) {
+        while (n != null) {
+            int f = INFINITY;
+            for (int i = 0; i < n.moves.length; i++) {
+                int childF = n.children[i] != null ? n.children[i].f : n.forgotten[i];
+                if (childF == UNGENERATED) return;
+                f = Math.min(f, childF);
+            }
+            if (f == n.f) return;
+            setF(n, f);
+            n = n.parent;
+        }
+    }
+
+    /**
+     * Membuang leaf terburuk di open (f terbesar, lalu paling dangkal) dan
+     * mencatat f-nya di parent, lalu f parent di-backup agar parent tidak
+     * dipilih lagi dengan f yang lebih kecil dari semua cabangnya. Node keep
+     * (yang sedang diekspansi) tidak ikut dibuang. False jika tidak ada leaf
+     * yang bisa dibuang.
+     */
+    private boolean pruneWorst(Node root, Node keep) {
+        Iterator<Node> it = open.descendingIterator();
+        while (it.hasNext()) {
+            Node worst = it.next();
+            if (worst == root || worst == keep || worst.live > 0) continue;
+            Node parent = worst.parent;
+            detach(worst, worst.f);
+            backup(parent);
+            truncated = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Node tanpa slot yang bisa dibangkitkan lagi keluar dari open. Jika tidak
+     * punya anak di memori, semua cabangnya buntu, jadi node itu sendiri dilepas.
+     */
+    private void close(Node n) {
+        if (n.live == 0 && n.parent != null) {
+            Node parent = n.parent;
+            detach(n, INFINITY);
+            backup(parent);
+        } else {
+            removeOpen(n);
+        }
+    }
+
+    /**
+     * Melepas leaf dari pohon; parent mengingat f-nya di slot yang kosong.
+     */
+    private void detach(Node leaf, int forgottenF) {
+        removeOpen(leaf);
+        if (inMemory.get(leaf.board.key()) == leaf) inMemory.remove(leaf.board.key());
+        Node parent = leaf.parent;
+        parent.children[leaf.slot] = null;
+        parent.forgotten[leaf.slot] = forgottenF;
+        parent.live--;
+        nodeCount--;
+        if (!parent.inOpen) addOpen(parent);
+    }
+
+    private void setF(Node n, int f) {
+        if (n.inOpen) open.remove(n);
+        n.f = f;
+        if (n.inOpen) open.add(n);
+    }
+
+    private void addOpen(Node n) {
+        open.add(n);
+        n.inOpen = true;
+    }
+
+    private void removeOpen(Node n) {
+        if (n.inOpen) {
+            open.remove(n);
+            n.inOpen = false;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * Batas sumber daya untuk satu pencarian: waktu (wall clock), jumlah node
+ * yang diekspansi, dan perkiraan memori struktur pencarian (closed set dan
+ * node yang disimpan). Immutable; gunakan withX untuk membuat varian.
+ */
+public final class SearchBudget {
+    public static final SearchBudget UNLIMITED = new SearchBudget(Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE);
+
+    public final long timeLimitMs;
+    public final long maxExpanded;
+    public final long maxMemoryBytes;
+
+    public SearchBudget(long timeLimitMs, long maxExpanded, long maxMemoryBytes) {
+        this.timeLimitMs = timeLimitMs;
+        this.maxExpanded = maxExpanded;
+        this.maxMemoryBytes = maxMemoryBytes;
+    }
+
+    public SearchBudget withTimeLimit(long ms) {
+        return new SearchBudget(ms, maxExpanded, maxMemoryBytes);
+    }
+
+    public SearchBudget withMaxExpanded(long nodes) {
+        return new SearchBudget(timeLimitMs, nodes, maxMemoryBytes);
+    }
+
+    public SearchBudget withMaxMemory(long bytes) {
+        return new SearchBudget(timeLimitMs, maxExpanded, bytes);
+    }
+
+    /**
+     * Deadline dalam System.nanoTime untuk pencarian yang dimulai sekarang.
+     */
+    long deadlineNanos() {
+        if (timeLimitMs == Long.MAX_VALUE) return Long.MAX_VALUE;
+        return System.nanoTime() + Math.min(timeLimitMs, Long.MAX_VALUE / 4_000_000) * 1_000_000;
+    }
+}
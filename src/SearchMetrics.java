@@ -0,0 +1,201 @@
+import java.util.Arrays;
+
+/**
+ * Statistik satu kali pencarian, diisi langsung oleh loop solver. Semua
+ * counter berupa field biasa (tidak thread-safe); solver paralel memakai satu
+ * instance per worker lalu menggabungkannya dengan merge.
+ *
+ * - expanded: node yang diekspansi (successor-nya dibangkitkan)
+ * - generated: successor yang dibangkitkan
+ * - duplicates: node yang dibuang karena sudah dikunjungi atau ada jalur lebih murah
+ * - reExpansions: node yang diekspansi ulang (IDA*: seluruh pohon iterasi sebelumnya)
+ * - peakOpen / peakClosed: ukuran maksimum open list dan closed set
+ * - fLayers: jumlah ekspansi per nilai prioritas (f untuk A*, g untuk UCS, h untuk GBFS)
+ * - solutionDepth: panjang solusi dalam langkah, 0 jika tidak ada solusi (diisi Solver)
+ */
+public final class SearchMetrics {
+    long expanded;
+    long generated;
+    long duplicates;
+    long reExpansions;
+    int peakOpen;
+    int peakClosed;
+    int iterations;
+    long heuristicCalls;
+    long heuristicNanos;
+    int solutionDepth;
+    private long[] fLayers = new long[64];
+    private int maxLayer = -1;
+
+    // Mengukur waktu heuristic butuh System.nanoTime per panggilan, jadi hanya aktif jika diminta
+    boolean timeHeuristic;
+
+    void reset() {
+        expanded = generated = duplicates = reExpansions = 0;
+        peakOpen = peakClosed = iterations = 0;
+        heuristicCalls = heuristicNanos = 0;
+        solutionDepth = 0;
+        Arrays.fill(fLayers, 0);
+        maxLayer = -1;
+    }
+
+    void expand(int layer) {
+        expanded++;
+        if (layer < 0) return;
+        if (layer >= fLayers.length) {
+            fLayers = Arrays.copyOf(fLayers, Math.max(layer + 1, fLayers.length * 2));
+        }
+        fLayers[layer]++;
+        if (layer > maxLayer) maxLayer = layer;
+    }
+
+    void generate(int count) {
+        generated += count;
+    }
+
+    void duplicate() {
+        duplicates++;
+    }
+
+    void open(int size) {
+        if (size > peakOpen) peakOpen = size;
+    }
+
+    void closed(int size) {
+        if (size > peakClosed) peakClosed = size;
+    }
+
+    /**
+     * Dipanggil sebelum evaluasi heuristic; hasilnya diteruskan ke heuristicEnd.
+     */
+    long heuristicStart() {
+        return timeHeuristic ? System.nanoTime() : 0;
+    }
+
+    void heuristicEnd(long start) {
+        heuristicCalls++;
+        if (start != 0) heuristicNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * Menambahkan statistik lain (misalnya dari worker lain atau solver
+     * fallback). Puncak open/closed dijumlahkan, jadi untuk worker paralel
+     * nilainya batas atas.
+     */
+    void merge(SearchMetrics other) {
+        expanded += other.expanded;
+        generated += other.generated;
+        duplicates += other.duplicates;
+        reExpansions += other.reExpansions;
+        peakOpen += other.peakOpen;
+        peakClosed += other.peakClosed;
+        iterations = Math.max(iterations, other.iterations);
+        heuristicCalls += other.heuristicCalls;
+        heuristicNanos += other.heuristicNanos;
+        solutionDepth = Math.max(solutionDepth, other.solutionDepth);
+        for (int f = 0; f <= other.maxLayer; f++) {
+            if (other.fLayers[f] != 0) {
+                if (f >= fLayers.length) fLayers = Arrays.copyOf(fLayers, other.fLayers.length);
+                fLayers[f] += other.fLayers[f];
+            }
+        }
+        maxLayer = Math.max(maxLayer, other.maxLayer);
+    }
+
+    public long getExpanded() {
+        return expanded;
+    }
+
+    public long getGenerated() {
+        return generated;
+    }
+
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public long getReExpansions() {
+        return reExpansions;
+    }
+
+    public int getPeakOpen() {
+        return peakOpen;
+    }
+
+    public int getPeakClosed() {
+        return peakClosed;
+    }
+
+    /**
+     * Jumlah iterasi untuk solver iteratif (IDA*), 0 untuk yang lain.
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    public long getHeuristicCalls() {
+        return heuristicCalls;
+    }
+
+    /**
+     * Total waktu evaluasi heuristic; 0 jika pengukuran waktu tidak aktif.
+     */
+    public long getHeuristicNanos() {
+        return heuristicNanos;
+    }
+
+    public int getSolutionDepth() {
+        return solutionDepth;
+    }
+
+    /**
+     * Rata-rata successor per node yang diekspansi (branching factor mentah).
+     */
+    public double successorsPerExpansion() {
+        return expanded == 0 ? 0 : (double) generated / expanded;
+    }
+
+    /**
+     * Effective branching factor b*: branching factor pohon seragam sedalam
+     * solusi d yang berisi sebanyak node yang diekspansi, N = b* + b*^2 + ... + b*^d.
+     * Dicari dengan bisection karena ruas kanan naik monoton terhadap b*.
+     * 0 jika tidak ada solusi.
+     */
+    public double branchingFactor() {
+        if (solutionDepth == 0 || expanded == 0) return 0;
+        double lo = 0, hi = Math.max(1, expanded);
+        for (int i = 0; i < 100 && hi - lo > 1e-9; i++) {
+            double mid = (lo + hi) / 2;
+            if (uniformTreeSize(mid, solutionDepth) < expanded) lo = mid;
+            else hi = mid;
+        }
+        return (lo + hi) / 2;
+    }
+
+    private static double uniformTreeSize(double b, int depth) {
+        double sum = 0, power = 1;
+        for (int i = 0; i < depth; i++) {
+            power *= b;
+            sum += power;
+            if (sum == Double.POSITIVE_INFINITY) break;
+        }
+        return sum;
+    }
+
+    /**
+     * Salinan histogram ekspansi per layer: indeks = nilai f (atau g/h).
+     */
+    public long[] fHistogram() {
+        return Arrays.copyOf(fLayers, maxLayer + 1);
+    }
+
+    @Override
+    public String toString() {
+        return "expanded=" + expanded + ", generated=" + generated + ", duplicates=" + duplicates
+                + ", reExpansions=" + reExpansions + ", peakOpen=" + peakOpen + ", peakClosed=" + peakClosed
+                + String.format(", successors=%.2f", successorsPerExpansion())
+                + (solutionDepth > 0 ? String.format(", b*=%.3f", branchingFactor()) : "")
+                + (iterations > 0 ? ", iterations=" + iterations : "")
+                + (heuristicNanos > 0 ? String.format(", heuristic=%.1f ms", heuristicNanos / 1e6) : "");
+    }
+}
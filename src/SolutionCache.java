@@ -0,0 +1,204 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Cache solusi dengan eviction LRU, dikunci dengan kunci CanonicalBoard ditambah
+ * nama algoritma dan heuristic. Jalur disimpan dalam label dan arah papan
+ * kanonik, dan dipetakan kembali ke papan pemanggil saat get, jadi puzzle yang
+ * hanya berbeda huruf kendaraan atau berupa cermin/transposisi berbagi entri.
+ *
+ * Untuk algoritma optimal, setiap state di sepanjang jalur solusi juga
+ * dicatat dengan offset ke jalur yang sama: sufiks dari jalur optimal juga
+ * optimal, jadi papan yang sudah beberapa langkah berjalan langsung terjawab.
+ * Semua entri sufiks berbagi satu List, jadi biaya tambahannya hanya satu entri
+ * map dan encoding papan kanonik per state.
+ *
+ * Setiap entri menyimpan encoding papan kanoniknya dan get membandingkannya,
+ * jadi tabrakan kunci 64-bit menjadi miss, bukan jalur untuk papan lain.
+ */
+public class SolutionCache {
+    private static final int MAGIC = 0x52485343;  // "RHSC"
+    private static final int VERSION = 3;
+
+    private final int maxEntries;
+    private final LinkedHashMap<Key, Entry> entries;
+    private int hits;
+    private int misses;
+
+    public SolutionCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        // accessOrder = true: get() memindahkan entri ke ujung, jadi entri tertua = paling lama tidak dipakai
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > SolutionCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Kunci state: sama untuk papan yang identik setelah kanonikalisasi.
+     */
+    public static long stateKey(Board board) {
+        return CanonicalBoard.of(board).key;
+    }
+
+    /**
+     * Solusi tersimpan untuk board, atau null. Hasilnya salinan yang boleh diubah.
+     */
+    public synchronized List<Move> get(Board board, String solverId) {
+        CanonicalBoard canonical = CanonicalBoard.of(board);
+        Entry entry = entries.get(new Key(canonical.key, solverId));
+        if (entry == null || !Arrays.equals(entry.encoding, canonical.encoding())) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return canonical.toOriginal(entry.path.subList(entry.offset, entry.path.size()));
+    }
+
+    /**
+     * Menyimpan solusi untuk board. Jika optimal, state-state di sepanjang
+     * jalur ikut dicatat dengan sufiks jalurnya.
+     */
+    public synchronized void put(Board board, String solverId, List<Move> path, boolean optimal) {
+        CanonicalBoard start = CanonicalBoard.of(board);
+        // Satu salinan jalur kanonik per transformasi; biasanya semua state memakai yang sama
+        Map<Integer, List<Move>> shared = new HashMap<>();
+        shared.put(start.transform, List.copyOf(start.toCanonical(path)));
+        entries.put(new Key(start.key, solverId), new Entry(start.encoding(), shared.get(start.transform), 0));
+        if (!optimal) return;
+        Board current = board;
+        for (int i = 1; i < path.size(); i++) {
+            current = current.applyMove(path.get(i - 1));
+            CanonicalBoard canonical = CanonicalBoard.of(current);
+            List<Move> frame = shared.computeIfAbsent(canonical.transform, t -> List.copyOf(canonical.toCanonical(path)));
+            // Jangan timpa entri yang sudah ada; jalurnya mungkin berasal dari pencarian langsung
+            entries.putIfAbsent(new Key(canonical.key, solverId), new Entry(canonical.encoding(), frame, i));
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized int hits() {
+        return hits;
+    }
+
+    public synchronized int misses() {
+        return misses;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Menulis isi cache (dari yang paling lama tidak dipakai) ke file. Setiap
+     * entri ditulis sebagai sufiks jalurnya sendiri.
+     */
+    public synchronized void save(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(entries.size());
+            for (Map.Entry<Key, Entry> e : entries.entrySet()) {
+                out.writeLong(e.getKey().state);
+                out.writeUTF(e.getKey().solverId);
+                int[] encoding = e.getValue().encoding;
+                out.writeInt(encoding.length);
+                for (int v : encoding) {
+                    out.writeInt(v);
+                }
+                List<Move> path = e.getValue().path;
+                int offset = e.getValue().offset;
+                out.writeInt(path.size() - offset);
+                for (int i = offset; i < path.size(); i++) {
+                    Move m = path.get(i);
+                    out.writeChar(m.pieceId);
+                    out.writeUTF(m.direction);
+                    out.writeInt(m.amount);
+                }
+            }
+        }
+    }
+
+    /**
+     * Memuat entri dari file hasil save. File yang tidak ada diabaikan.
+     */
+    public synchronized void load(File file) throws IOException {
+        if (!file.exists()) return;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Bukan file cache solusi yang valid: " + file);
+            }
+            int count = in.readInt();
+            for (int n = 0; n < count; n++) {
+                long state = in.readLong();
+                String solverId = in.readUTF();
+                int[] encoding = new int[in.readInt()];
+                for (int i = 0; i < encoding.length; i++) {
+                    encoding[i] = in.readInt();
+                }
+                int length = in.readInt();
+                List<Move> path = new ArrayList<>(length);
+                for (int i = 0; i < length; i++) {
+                    path.add(new Move(in.readChar(), in.readUTF(), in.readInt()));
+                }
+                entries.put(new Key(state, solverId), new Entry(encoding, List.copyOf(path), 0));
+            }
+        } catch (EOFException e) {
+            throw new IOException("File cache solusi terpotong: " + file, e);
+        }
+    }
+
+    private static final class Key {
+        final long state;
+        final String solverId;  // algoritma + heuristic, misalnya "a*/1"
+
+        Key(long state, String solverId) {
+            this.state = state;
+            this.solverId = solverId;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            Key other = (Key) obj;
+            return state == other.state && solverId.equals(other.solverId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(state, solverId);
+        }
+    }
+
+    private static final class Entry {
+        final int[] encoding;  // CanonicalBoard.encoding state ini, untuk menolak tabrakan kunci
+        final List<Move> path;
+        final int offset;  // solusi untuk state ini = path[offset..]
+
+        Entry(int[] encoding, List<Move> path, int offset) {
+            this.encoding = encoding;
+            this.path = path;
+            this.offset = offset;
+        }
+    }
+}
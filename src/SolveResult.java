@@ -0,0 +1,46 @@
+import java.util.List;
+
+/**
+ * Hasil terstruktur dari Solver.solve(budget, token). Untuk pencarian yang
+ * berhenti karena budget atau dibatalkan, statistik frontier terakhir ikut
+ * disimpan: ukuran frontier dan batas bawah biaya (f terkecil yang masih
+ * terbuka, atau threshold untuk IDA*).
+ */
+public final class SolveResult {
+    public enum Status { SOLVED, UNSOLVABLE, BUDGET_EXCEEDED, CANCELLED }
+
+    public final Status status;
+    public final List<Move> path;   // null jika tidak SOLVED
+    public final String limit;      // "time", "nodes", "memory", atau "beam" untuk BUDGET_EXCEEDED
+    public final int expanded;
+    public final long timeMs;
+    public final int frontierSize;
+    public final int bestBound;
+
+    SolveResult(Status status, List<Move> path, String limit, int expanded, long timeMs, int frontierSize, int bestBound) {
+        this.status = status;
+        this.path = path;
+        this.limit = limit;
+        this.expanded = expanded;
+        this.timeMs = timeMs;
+        this.frontierSize = frontierSize;
+        this.bestBound = bestBound;
+    }
+
+    public boolean isSolved() {
+        return status == Status.SOLVED;
+    }
+
+    /**
+     * Biaya solusi dalam sel, atau -1 jika tidak ada solusi.
+     */
+    public int cost() {
+        return path == null ? -1 : path.stream().mapToInt(m -> m.amount).sum();
+    }
+
+    @Override
+    public String toString() {
+        return status + (limit != null ? " (" + limit + ")" : "")
+                + ", expanded=" + expanded + ", frontier=" + frontierSize + ", bound=" + bestBound + ", " + timeMs + " ms";
+    }
+}
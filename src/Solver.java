@@ -1,4 +1,5 @@
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public abstract class Solver {
     protected Board startBoard;
@@ -6,6 +7,42 @@ public abstract class Solver {
     protected int visitedCount = 0;
     protected long executionTimeMs = 0;
 
+    // Budget dan token untuk solve(budget, token); solve() biasa berjalan tanpa batas
+    protected SearchBudget budget = SearchBudget.UNLIMITED;
+    protected CancellationToken token = CancellationToken.NONE;
+    private long deadlineNanos = Long.MAX_VALUE;
+    // Alasan pencarian berhenti lebih awal ("time", "nodes", "memory", "beam", "cancelled"), null jika selesai normal
+    protected String stopReason;
+    // Statistik frontier dari ekspansi terakhir
+    protected int frontierSize;
+    protected int bestBound;
+    // Statistik rinci pencarian terakhir, diisi oleh loop solver
+    protected final SearchMetrics metrics = new SearchMetrics();
+
+    // Interval pengecekan waktu dan token agar loop pencarian tidak membayar biayanya di setiap node
+    private static final int STOP_CHECK_INTERVAL = 1024;
+    private static final long PROGRESS_INTERVAL_NANOS = 100_000_000L;
+
+    /**
+     * Penerima progres berkala dari loop pencarian. Dipanggil dari thread
+     * solver paling sering sekali per PROGRESS_INTERVAL_NANOS.
+     */
+    public interface ProgressListener {
+        void onProgress(int expanded, int frontierSize, int bestBound);
+    }
+
+    /**
+     * Penerima statistik di akhir setiap solve(budget, token), misalnya untuk
+     * diekspor ke file Prometheus atau event JFR. Dipanggil dari thread solver.
+     */
+    public interface MetricsListener {
+        void onSearchFinished(Solver solver, SolveResult result, SearchMetrics metrics);
+    }
+
+    private final List<MetricsListener> metricsListeners = new CopyOnWriteArrayList<>();
+    private volatile ProgressListener progressListener;
+    private long lastProgressNanos;
+
     public Solver(Board board) {
         this.startBoard = board;
     }
@@ -24,6 +61,114 @@ public abstract class Solver {
         return executionTimeMs;
     }
 
+    public void setProgressListener(ProgressListener listener) {
+        this.progressListener = listener;
+    }
+
+    public void addMetricsListener(MetricsListener listener) {
+        metricsListeners.add(listener);
+    }
+
+    public SearchMetrics getMetrics() {
+        return metrics;
+    }
+
+    public String getStopReason() {
+        return stopReason;
+    }
+
+    /**
+     * Menjalankan solve() dengan budget dan token pembatalan, lalu merangkum
+     * hasilnya. Thread yang di-interrupt juga dianggap dibatalkan.
+     */
+    public SolveResult solve(SearchBudget budget, CancellationToken token) {
+        this.budget = budget;
+        this.token = token;
+        this.deadlineNanos = budget.deadlineNanos();
+        this.stopReason = null;
+        this.solutionPath = null;
+        this.frontierSize = 0;
+        this.bestBound = 0;
+        metrics.reset();
+        metrics.timeHeuristic = !metricsListeners.isEmpty();
+        try {
+            solve();
+        } finally {
+            this.budget = SearchBudget.UNLIMITED;
+            this.token = CancellationToken.NONE;
+            this.deadlineNanos = Long.MAX_VALUE;
+        }
+
+        SolveResult.Status status;
+        if ("cancelled".equals(stopReason)) {
+            status = SolveResult.Status.CANCELLED;
+        } else if (stopReason != null) {
+            status = SolveResult.Status.BUDGET_EXCEEDED;
+        } else if (solutionPath != null) {
+            status = SolveResult.Status.SOLVED;
+            metrics.solutionDepth = solutionPath.size();
+        } else {
+            status = SolveResult.Status.UNSOLVABLE;
+        }
+        String limit = status == SolveResult.Status.BUDGET_EXCEEDED ? stopReason : null;
+        SolveResult result = new SolveResult(status, status == SolveResult.Status.SOLVED ? solutionPath : null, limit,
+                visitedCount, executionTimeMs, frontierSize, bestBound);
+        for (MetricsListener listener : metricsListeners) {
+            listener.onSearchFinished(this, result, metrics);
+        }
+        return result;
+    }
+
+    /**
+     * Dipanggil loop pencarian setelah setiap ekspansi dengan perkiraan memori,
+     * ukuran frontier, dan batas bawah biaya saat ini. Mengembalikan true jika
+     * pencarian harus berhenti karena budget habis atau dibatalkan.
+     */
+    protected boolean shouldStop(int expanded, long memoryBytes, int frontier, int bound) {
+        frontierSize = frontier;
+        bestBound = bound;
+        if (expanded < budget.maxExpanded && expanded % STOP_CHECK_INTERVAL != 0) return false;
+        reportProgress(expanded);
+        return checkLimits(expanded, memoryBytes);
+    }
+
+    /**
+     * Mengirim progres ke listener jika interval sudah lewat.
+     */
+    protected void reportProgress(long expanded) {
+        ProgressListener listener = progressListener;
+        if (listener == null) return;
+        long now = System.nanoTime();
+        if (now - lastProgressNanos < PROGRESS_INTERVAL_NANOS) return;
+        lastProgressNanos = now;
+        listener.onProgress((int) Math.min(expanded, Integer.MAX_VALUE), frontierSize, bestBound);
+    }
+
+    /**
+     * Pengecekan budget dan pembatalan tanpa interval, untuk pemanggil yang
+     * sudah mengatur sendiri seberapa sering mengecek (misalnya HDA*).
+     */
+    protected boolean checkLimits(long expanded, long memoryBytes) {
+        if (expanded >= budget.maxExpanded) {
+            stopReason = "nodes";
+        } else if (token.isCancelled() || Thread.currentThread().isInterrupted()) {
+            stopReason = "cancelled";
+        } else if (deadlineNanos != Long.MAX_VALUE && System.nanoTime() - deadlineNanos > 0) {
+            stopReason = "time";
+        } else if (memoryBytes > budget.maxMemoryBytes) {
+            stopReason = "memory";
+        }
+        return stopReason != null;
+    }
+
+    /**
+     * Perkiraan kasar ukuran satu node pencarian di heap: State, CompactBoard,
+     * dan array posisinya.
+     */
+    protected static long stateBytes(BoardLayout layout) {
+        return 96 + ((layout.pieceCount + 7) & ~7);
+    }
+
     public Board getResultBoard() {
         if (solutionPath == null || solutionPath.isEmpty()) {
             return null;
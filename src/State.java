@@ -1,18 +1,35 @@
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class State implements Comparable<State> {
-    public Board board;
-    public List<Move> path;
+    public CompactBoard board;
+    public State parent;  // null untuk state awal
+    public int move;      // kode gerakan (Move.encode) dari parent ke state ini
+    public int depth;     // jumlah gerakan dari state awal
     public int cost;
     public int heuristic;
-    private String hashString;  // Menyimpan hash untuk mengurangi komputasi berulang
 
-    public State(Board board, List<Move> path, int cost, int heuristic) {
+    public State(CompactBoard board, State parent, int move, int cost, int heuristic) {
         this.board = board;
-        this.path = path;
+        this.parent = parent;
+        this.move = move;
+        this.depth = parent == null ? 0 : parent.depth + 1;
         this.cost = cost;
         this.heuristic = heuristic;
-        this.hashString = null;  // Akan dihitung saat diperlukan (lazy initialization)
+    }
+
+    /**
+     * Menyusun ulang jalur solusi dengan menelusuri parent sampai state awal.
+     * Cukup dipanggil sekali saat goal ditemukan.
+     */
+    public List<Move> path() {
+        List<Move> path = new ArrayList<>(depth);
+        for (State s = this; s.parent != null; s = s.parent) {
+            path.add(Move.of(s.board.layout, s.move));
+        }
+        Collections.reverse(path);
+        return path;
     }
 
     @Override
@@ -23,17 +40,9 @@ public class State implements Comparable<State> {
         return Integer.compare(thisTotal, otherTotal);
     }
 
-    public String hash() {
-        if (hashString == null) {
-            StringBuilder sb = new StringBuilder();
-            for (int i = 0; i < board.rows; i++) {
-                for (int j = 0; j < board.cols; j++) {
-                    sb.append(board.grid[i][j]);
-                }
-            }
-            hashString = sb.toString();
-        }
-        return hashString;
+    public long hash() {
+        // Kunci Zobrist sudah dihitung inkremental oleh CompactBoard
+        return board.key();
     }
     
     @Override
@@ -41,11 +50,11 @@ public class State implements Comparable<State> {
         if (this == obj) return true;
         if (obj == null || getClass() != obj.getClass()) return false;
         State other = (State) obj;
-        return hash().equals(other.hash());
+        return hash() == other.hash();
     }
     
     @Override
     public int hashCode() {
-        return hash().hashCode();
+        return Long.hashCode(hash());
     }
-}
\ No newline at end of file
+}
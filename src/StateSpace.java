@@ -0,0 +1,508 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Seluruh ruang state yang terjangkau dari satu papan beserta jarak tepat
+ * setiap state ke goal terdekat.
+ *
+ * Dibangun dalam dua BFS berlapis: BFS maju dari papan awal untuk
+ * mengumpulkan komponen (dan state goal di dalamnya), lalu BFS mundur dari
+ * semua goal tersebut untuk mengisi jarak. Karena setiap gerakan bisa dibalik,
+ * tetangga di arah mundur sama dengan arah maju. State dikodekan sebagai
+ * bilangan mixed-radix (posisi setiap piece sebagai satu digit), sehingga
+ * ekspansi cukup mengubah satu digit tanpa membuat objek papan.
+ *
+ * Ekspansi setiap lapisan dibagi ke beberapa thread; penggabungan ke tabel
+ * jarak dilakukan satu thread. Lapisan frontier yang melebihi
+ * FRONTIER_MEMORY_LIMIT state ditulis ke file sementara.
+ */
+public class StateSpace {
+    public static final int UNREACHABLE = -1;
+
+    private static final int UNKNOWN = 0xFFFF;  // sudah terjangkau, jarak ke goal belum diketahui
+    private static final int MAX_DISTANCE = UNKNOWN - 1;
+    private static final int FRONTIER_MEMORY_LIMIT = 1 << 22;
+    private static final int CHUNK = 1 << 14;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    public final BoardLayout layout;
+    private final boolean cellCost;  // true: jarak dalam sel (gerakan 1 sel); false: jumlah gerakan
+    private final int threads;
+    private final long[] radix;
+
+    // Tabel jarak: open addressing dengan kunci kode + 1 (0 menandai slot kosong)
+    private long[] keys;
+    private short[] distances;
+    private int mask;
+    private int size;
+    private int goalCount;
+    private int maxDistance = UNREACHABLE;
+    private long[] histogram = new long[0];
+
+    private StateSpace(BoardLayout layout, boolean cellCost, int threads) {
+        this.layout = layout;
+        this.cellCost = cellCost;
+        this.threads = Math.max(1, threads);
+        this.radix = new long[layout.pieceCount];
+        long weight = 1;
+        for (int i = layout.pieceCount - 1; i >= 0; i--) {
+            radix[i] = weight;
+            int digits = layout.laneSize(i) - layout.length(i) + 1;
+            if (weight > Long.MAX_VALUE / digits) {
+                throw new IllegalArgumentException("Terlalu banyak piece untuk dikodekan dalam satu long.");
+            }
+            weight *= digits;
+        }
+        allocate(1 << 12);
+    }
+
+    /**
+     * Menjelajahi seluruh komponen papan. Dengan cellCost, jarak dihitung dalam
+     * sel seperti biaya UCS/A*; tanpa cellCost, setiap geseran bernilai 1.
+     */
+    public static StateSpace enumerate(Board board, boolean cellCost, int threads) throws IOException {
+        CompactBoard start = CompactBoard.of(board);
+        StateSpace space = new StateSpace(start.layout, cellCost, threads);
+        space.build(space.encode(start.positions()));
+        return space;
+    }
+
+    public static StateSpace enumerate(Board board, boolean cellCost) throws IOException {
+        return enumerate(board, cellCost, Runtime.getRuntime().availableProcessors());
+    }
+
+    public long encode(byte[] pos) {
+        long code = 0;
+        for (int i = 0; i < pos.length; i++) {
+            code += pos[i] * radix[i];
+        }
+        return code;
+    }
+
+    public CompactBoard decode(long code) {
+        byte[] pos = new byte[layout.pieceCount];
+        decode(code, pos);
+        return new CompactBoard(layout, pos);
+    }
+
+    private void decode(long code, byte[] pos) {
+        for (int i = 0; i < pos.length; i++) {
+            pos[i] = (byte) (code / radix[i]);
+            code %= radix[i];
+        }
+    }
+
+    /**
+     * Jarak ke goal terdekat, atau UNREACHABLE jika state tidak ada di komponen
+     * atau komponen tidak memiliki goal.
+     */
+    public int distance(long code) {
+        int slot = find(code);
+        if (slot < 0) return UNREACHABLE;
+        int d = distances[slot] & 0xFFFF;
+        return d == UNKNOWN ? UNREACHABLE : d;
+    }
+
+    public int distance(CompactBoard board) {
+        return distance(encode(board.positions()));
+    }
+
+    public int distance(Board board) {
+        return distance(encode(layout.positionsOf(board)));
+    }
+
+    /**
+     * Jumlah state di komponen.
+     */
+    public int size() {
+        return size;
+    }
+
+    public int goalCount() {
+        return goalCount;
+    }
+
+    public int maxDistance() {
+        return maxDistance;
+    }
+
+    /**
+     * histogram()[d] = jumlah state dengan jarak d ke goal.
+     */
+    public long[] histogram() {
+        return histogram.clone();
+    }
+
+    /**
+     * Semua state dengan jarak tepat d (misalnya d = maxDistance() untuk puzzle tersulit).
+     */
+    public long[] statesAt(int d) {
+        long[] result = new long[d >= 0 && d < histogram.length ? (int) histogram[d] : 0];
+        int n = 0;
+        for (int slot = 0; slot < keys.length && n < result.length; slot++) {
+            if (keys[slot] != 0 && (distances[slot] & 0xFFFF) == d) result[n++] = keys[slot] - 1;
+        }
+        return result;
+    }
+
+    /**
+     * Jalur optimal dari board: di setiap langkah pilih tetangga dengan jarak
+     * satu lebih kecil. Mengembalikan null jika goal tidak terjangkau.
+     */
+    public List<Move> solutionFrom(Board board) {
+        byte[] pos = layout.positionsOf(board);
+        int d = distance(encode(pos));
+        if (d == UNREACHABLE) return null;
+
+        long[] masks = new long[layout.rows + layout.cols];
+        int[] moves = new int[MoveGenerator.maxMoves(layout)];
+        List<Move> path = new ArrayList<>(d);
+        while (d > 0) {
+            long code = encode(pos);
+            MoveGenerator.fillMasks(layout, pos, masks);
+            int count = MoveGenerator.generate(layout, pos, masks, moves);
+            for (int i = 0; i < count; i++) {
+                int move = moves[i];
+                if (cellCost && Move.amount(move) != 1) continue;
+                if (distance(code + Move.delta(move) * radix[Move.piece(move)]) == d - 1) {
+                    pos[Move.piece(move)] += Move.delta(move);
+                    path.add(Move.of(layout, move));
+                    break;
+                }
+            }
+            d--;
+        }
+        return path;
+    }
+
+    private void build(long start) throws IOException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "state-space");
+            t.setDaemon(true);
+            return t;
+        });
+        try (Frontier goals = new Frontier()) {
+            // BFS maju: kumpulkan komponen; jarak masih UNKNOWN
+            insert(start, UNKNOWN);
+            Frontier frontier = new Frontier();
+            frontier.add(start);
+            while (frontier.size() > 0) {
+                Frontier next = new Frontier();
+                expand(pool, frontier, goals, child -> {
+                    if (insert(child, UNKNOWN)) next.add(child);
+                });
+                frontier.close();
+                frontier = next;
+            }
+            frontier.close();
+
+            // BFS mundur dari semua goal di komponen
+            goalCount = (int) goals.size();
+            frontier = goals.copy();
+            int depth = 0;
+            List<Long> counts = new ArrayList<>();
+            counts.add(goals.size());
+            goals.forEach(code -> setDistance(code, 0));
+            while (frontier.size() > 0) {
+                if (depth + 1 > MAX_DISTANCE) throw new IllegalStateException("Jarak melebihi " + MAX_DISTANCE);
+                int d = depth + 1;
+                Frontier next = new Frontier();
+                expand(pool, frontier, null, child -> {
+                    if (setDistanceIfUnknown(child, d)) next.add(child);
+                });
+                frontier.close();
+                frontier = next;
+                if (next.size() > 0) {
+                    counts.add(next.size());
+                    depth = d;
+                }
+            }
+            frontier.close();
+            if (goalCount > 0) {
+                maxDistance = depth;
+                histogram = counts.stream().mapToLong(Long::longValue).toArray();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private interface CodeConsumer {
+        void accept(long code) throws IOException;
+    }
+
+    /**
+     * Mengekspansi satu lapisan. Potongan frontier diekspansi paralel, hasilnya
+     * digabung berurutan oleh thread pemanggil. Jika goals tidak null, state
+     * goal di lapisan ini dicatat ke sana.
+     */
+    private void expand(ExecutorService pool, Frontier frontier, Frontier goals, CodeConsumer sink) throws IOException {
+        try (Frontier.Reader reader = frontier.reader()) {
+            List<Future<long[]>> batch = new ArrayList<>(threads);
+            while (true) {
+                batch.clear();
+                for (int t = 0; t < threads; t++) {
+                    long[] chunk = reader.next(CHUNK);
+                    if (chunk == null) break;
+                    if (goals != null) {
+                        for (long code : chunk) {
+                            if (isGoal(code)) goals.add(code);
+                        }
+                    }
+                    batch.add(pool.submit(() -> successors(chunk)));
+                }
+                if (batch.isEmpty()) return;
+                for (Future<long[]> future : batch) {
+                    long[] children = future.get();
+                    int n = (int) children[0];
+                    for (int i = 1; i <= n; i++) {
+                        sink.accept(children[i]);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Enumerasi dibatalkan", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Ekspansi gagal", e.getCause());
+        }
+    }
+
+    /**
+     * Semua successor dari potongan frontier; elemen 0 berisi jumlahnya.
+     * Dijalankan di thread pool, jadi hanya membaca radix dan layout.
+     */
+    private long[] successors(long[] chunk) {
+        byte[] pos = new byte[layout.pieceCount];
+        long[] masks = new long[layout.rows + layout.cols];
+        int[] moves = new int[MoveGenerator.maxMoves(layout)];
+        long[] out = new long[1 + chunk.length * 4];
+        int n = 0;
+        for (long code : chunk) {
+            decode(code, pos);
+            MoveGenerator.fillMasks(layout, pos, masks);
+            int count = MoveGenerator.generate(layout, pos, masks, moves);
+            if (n + count >= out.length - 1) out = Arrays.copyOf(out, Math.max(out.length * 2, n + count + 1));
+            for (int i = 0; i < count; i++) {
+                int move = moves[i];
+                if (cellCost && Move.amount(move) != 1) continue;
+                out[++n] = code + Move.delta(move) * radix[Move.piece(move)];
+            }
+        }
+        out[0] = n;
+        return out;
+    }
+
+    private boolean isGoal(long code) {
+        int p = layout.primaryIndex;
+        if (p < 0 || layout.exitRow < 0 || layout.exitCol < 0) return false;
+        int tail = (int) (code / radix[p] % (layout.laneSize(p) - layout.length(p) + 1)) + layout.length(p);
+        return layout.isHorizontal(p)
+                ? layout.lane(p) == layout.exitRow && tail == layout.exitCol
+                : layout.lane(p) == layout.exitCol && tail == layout.exitRow;
+    }
+
+    // ---- tabel jarak ----
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        distances = new short[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private int find(long code) {
+        long key = code + 1;
+        int i = mix(key) & mask;
+        while (keys[i] != 0) {
+            if (keys[i] == key) return i;
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private boolean insert(long code, int distance) {
+        long key = code + 1;
+        int i = mix(key) & mask;
+        while (keys[i] != 0) {
+            if (keys[i] == key) return false;
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        distances[i] = (short) distance;
+        if (++size > keys.length * LOAD_FACTOR) rehash();
+        return true;
+    }
+
+    private void setDistance(long code, int distance) {
+        distances[find(code)] = (short) distance;
+    }
+
+    private boolean setDistanceIfUnknown(long code, int distance) {
+        int slot = find(code);
+        if ((distances[slot] & 0xFFFF) != UNKNOWN) return false;
+        distances[slot] = (short) distance;
+        return true;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        short[] oldDistances = distances;
+        allocate(oldKeys.length * 2);
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == 0) continue;
+            int i = mix(oldKeys[j]) & mask;
+            while (keys[i] != 0) i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            distances[i] = oldDistances[j];
+        }
+    }
+
+    /**
+     * Satu lapisan BFS. Disimpan di memori sampai FRONTIER_MEMORY_LIMIT state;
+     * setelah itu isi buffer dipindah ke file sementara secara berkala.
+     */
+    private static final class Frontier implements AutoCloseable {
+        private long[] buffer = new long[1024];
+        private int buffered;
+        private long size;
+        private File file;
+        private DataOutputStream out;
+
+        void add(long code) throws IOException {
+            if (buffered == buffer.length) {
+                if (buffer.length < FRONTIER_MEMORY_LIMIT) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                } else {
+                    spill();
+                }
+            }
+            buffer[buffered++] = code;
+            size++;
+        }
+
+        long size() {
+            return size;
+        }
+
+        private void spill() throws IOException {
+            if (out == null) {
+                file = Files.createTempFile("rushhour-frontier", ".bin").toFile();
+                file.deleteOnExit();
+                out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+            }
+            for (int i = 0; i < buffered; i++) out.writeLong(buffer[i]);
+            buffered = 0;
+        }
+
+        Frontier copy() throws IOException {
+            Frontier copy = new Frontier();
+            forEach(copy::add);
+            return copy;
+        }
+
+        void forEach(CodeConsumer action) throws IOException {
+            try (Reader reader = reader()) {
+                long[] chunk;
+                while ((chunk = reader.next(CHUNK)) != null) {
+                    for (long code : chunk) action.accept(code);
+                }
+            }
+        }
+
+        /**
+         * Pembaca potongan: isi file (jika ada) lalu isi buffer.
+         */
+        Reader reader() throws IOException {
+            if (out != null) out.flush();
+            return new Reader();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (out != null) {
+                out.close();
+                out = null;
+                Files.deleteIfExists(file.toPath());
+            }
+        }
+
+        final class Reader implements AutoCloseable {
+            private DataInputStream in;
+            private int bufferIndex;
+
+            Reader() throws IOException {
+                if (file != null) {
+                    in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16));
+                }
+            }
+
+            long[] next(int max) throws IOException {
+                long[] chunk = new long[max];
+                int n = 0;
+                while (in != null && n < max) {
+                    try {
+                        chunk[n] = in.readLong();
+                        n++;
+                    } catch (EOFException e) {
+                        in.close();
+                        in = null;
+                    }
+                }
+                while (n < max && bufferIndex < buffered) {
+                    chunk[n++] = buffer[bufferIndex++];
+                }
+                if (n == 0) return null;
+                return n == max ? chunk : Arrays.copyOf(chunk, n);
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (in != null) in.close();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Penggunaan: java StateSpace <file puzzle> [moves|cells] [jumlah thread]");
+            return;
+        }
+        boolean cells = args.length > 1 && args[1].equalsIgnoreCase("cells");
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        Board board = PuzzleFile.read(new File(args[0]));
+
+        long start = System.currentTimeMillis();
+        StateSpace space = enumerate(board, cells, threads);
+        long elapsed = System.currentTimeMillis() - start;
+
+        System.out.println("Jumlah state terjangkau: " + space.size());
+        System.out.println("Jumlah state goal: " + space.goalCount());
+        System.out.println("Jarak dari papan awal: " + space.distance(board));
+        System.out.println("Jarak maksimum ke goal: " + space.maxDistance());
+        long[] histogram = space.histogram();
+        for (int d = 0; d < histogram.length; d++) {
+            System.out.println("  jarak " + d + ": " + histogram[d] + " state");
+        }
+        System.out.println("Waktu enumerasi: " + elapsed + " ms");
+    }
+}
@@ -0,0 +1,46 @@
+import java.util.Arrays;
+
+/**
+ * Tabel transposisi berukuran tetap (direct-mapped) untuk IDA*.
+ * Menyimpan g terkecil saat sebuah state dimasuki pada iterasi threshold
+ * yang sedang berjalan. Entri lama ditimpa jika slotnya bertabrakan, jadi
+ * memorinya tidak tumbuh seiring jumlah node.
+ */
+public class TranspositionTable {
+    private final long[] keys;
+    private final int[] depths;  // g + 1; 0 berarti slot kosong
+    private final int mask;
+
+    public TranspositionTable(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.keys = new long[size];
+        this.depths = new int[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Mengembalikan true jika state ini sudah dimasuki dengan g yang sama atau
+     * lebih kecil pada iterasi ini (subtree-nya sudah dijelajahi dengan budget
+     * yang sama atau lebih besar). Jika tidak, mencatat g saat ini.
+     */
+    public boolean checkAndStore(long key, int g) {
+        int i = (int) (key ^ (key >>> 32)) & mask;
+        if (depths[i] != 0 && keys[i] == key && depths[i] - 1 <= g) {
+            return true;
+        }
+        keys[i] = key;
+        depths[i] = g + 1;
+        return false;
+    }
+
+    /**
+     * Dipanggil di awal setiap iterasi threshold baru.
+     */
+    public void clear() {
+        Arrays.fill(depths, 0);
+    }
+
+    public long memoryBytes() {
+        return (long) keys.length * (Long.BYTES + Integer.BYTES);
+    }
+}
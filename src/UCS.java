@@ -9,50 +9,57 @@ public class UCS extends Solver {
     public void solve() {
         long startTime = System.currentTimeMillis();
 
-        // Gunakan comparator yang lebih konkret untuk menghindari inconsistent ordering
-        PriorityQueue<State> pq = new PriorityQueue<>(
-            (a, b) -> {
-                if (a.cost != b.cost) {
-                    return Integer.compare(a.cost, b.cost);
-                }
-                // Tie-breaker untuk konsistensi
-                return Integer.compare(a.hashCode(), b.hashCode());
-            }
-        );
-        
-        Set<String> visited = new HashSet<>();
+        // Bucket per nilai cost, LIFO di dalam bucket yang sama
+        BucketQueue<State> pq = new BucketQueue<>();
+
+        ClosedSet visited = new ClosedSet(true);
+
+        CompactBoard initial = CompactBoard.of(startBoard);
+        MoveGenerator generator = new MoveGenerator(initial.layout);
 
-        State start = new State(startBoard, new ArrayList<>(), 0, 0);
-        pq.add(start);
+        State start = new State(initial, null, 0, 0, 0);
+        pq.add(0, start);
 
         int nodesVisited = 0;
+        long stateBytes = stateBytes(initial.layout);
 
         while (!pq.isEmpty()) {
             State current = pq.poll();
-            String currentHash = current.hash();
-
-            if (visited.contains(currentHash)) continue;
-            visited.add(currentHash);
+            if (!visited.add(current.board)) {
+                metrics.duplicate();
+                continue;
+            }
             nodesVisited++;
+            metrics.expand(current.cost);
+            metrics.open(pq.size());
+            metrics.closed(visited.size());
 
             if (current.board.isGoal()) {
                 // Selesai!
                 long endTime = System.currentTimeMillis();
-                this.solutionPath = current.path;
+                this.solutionPath = current.path();
                 this.visitedCount = nodesVisited;
                 this.executionTimeMs = endTime - startTime;
                 return;
             }
+            long memory = visited.memoryBytes() + (visited.size() + (long) pq.size()) * stateBytes;
+            if (shouldStop(nodesVisited, memory, pq.size(), current.cost)) break;
 
-            for (Move move : current.board.getPossibleMoves()) {
-                Board newBoard = current.board.applyMove(move);
-                List<Move> newPath = new ArrayList<>(current.path);
-                newPath.add(move);
-                pq.add(new State(newBoard, newPath, current.cost + move.amount, 0));
+            int moveCount = generator.generate(current.board);
+            metrics.generate(moveCount);
+            for (int i = 0; i < moveCount; i++) {
+                int code = generator.move(i);
+                CompactBoard newBoard = current.board.applyMove(code);
+                int g = current.cost + Move.amount(code);
+                pq.add(g, new State(newBoard, current, code, g, 0));
             }
         }
 
-        System.out.println("Tidak ada solusi ditemukan.");
+        this.visitedCount = nodesVisited;
+        this.executionTimeMs = System.currentTimeMillis() - startTime;
+        if (stopReason == null) {
+            System.out.println("Tidak ada solusi ditemukan.");
+        }
     }
 
     private void printPath(State finalState) {
@@ -61,7 +68,7 @@ public class UCS extends Solver {
         Board current = startBoard;
 
         int step = 1;
-        for (Move move : finalState.path) {
+        for (Move move : finalState.path()) {
             System.out.println("Gerakan " + step + ": " + move);
             current = current.applyMove(move);
             current.print();